@@ -19,6 +19,10 @@ dependencies {
     implementation("com.fasterxml.jackson.core:jackson-annotations:2.18.4")
     implementation("com.fasterxml.jackson.core:jackson-databind:2.18.4")
 
+    // only needed at runtime when JenkinsApi.Builder#sharedConnectionPool is used
+    compileOnly("org.jboss.resteasy:resteasy-client:6.2.11.Final")
+    compileOnly("org.apache.httpcomponents:httpclient:4.5.14")
+
     testImplementation("org.testng:testng:7.11.0")
     testImplementation("org.awaitility:awaitility:4.2.0")
     testImplementation("org.testcontainers:testcontainers:1.21.3")
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest;
+
+import com.cdancy.jenkins.rest.features.AsyncJobsApi;
+import com.cdancy.jenkins.rest.features.AsyncQueueApi;
+import com.cdancy.jenkins.rest.features.AsyncStatisticsApi;
+import com.cdancy.jenkins.rest.features.AsyncSystemApi;
+import org.eclipse.microprofile.rest.client.RestClientBuilder;
+
+/**
+ * Asynchronous view of a {@link JenkinsApi}.
+ * The proxies share the authentication and crumb handling of the blocking ones, but every call
+ * returns a {@link java.util.concurrent.CompletionStage} completed by the RestClient.
+ */
+public final class AsyncJenkinsApi
+{
+
+    private final AsyncJobsApi jobsApi;
+    private final AsyncQueueApi queueApi;
+    private final AsyncStatisticsApi statisticsApi;
+    private final AsyncSystemApi systemApi;
+
+    AsyncJenkinsApi(RestClientBuilder authSecurityBuilder)
+    {
+        this.jobsApi = authSecurityBuilder.build(AsyncJobsApi.class);
+        this.queueApi = authSecurityBuilder.build(AsyncQueueApi.class);
+        this.statisticsApi = authSecurityBuilder.build(AsyncStatisticsApi.class);
+        this.systemApi = authSecurityBuilder.build(AsyncSystemApi.class);
+    }
+
+    public AsyncJobsApi jobsApi()
+    {
+        return jobsApi;
+    }
+
+    public AsyncQueueApi queueApi()
+    {
+        return queueApi;
+    }
+
+    public AsyncStatisticsApi statisticsApi()
+    {
+        return statisticsApi;
+    }
+
+    public AsyncSystemApi systemApi()
+    {
+        return systemApi;
+    }
+}
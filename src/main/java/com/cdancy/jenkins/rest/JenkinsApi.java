@@ -18,6 +18,13 @@
 package com.cdancy.jenkins.rest;
 
 
+import com.cdancy.jenkins.rest.cache.CachingJobsApi;
+import com.cdancy.jenkins.rest.cache.CompletedBuildCache;
+import com.cdancy.jenkins.rest.cache.ConditionalResponseCache;
+import com.cdancy.jenkins.rest.cache.ResponseCacheStats;
+import com.cdancy.jenkins.rest.coalesce.CoalescingApi;
+import com.cdancy.jenkins.rest.coalesce.CoalescingStats;
+import com.cdancy.jenkins.rest.coalesce.SingleFlight;
 import com.cdancy.jenkins.rest.features.ConfigurationAsCodeApi;
 import com.cdancy.jenkins.rest.features.CrumbIssuerApi;
 import com.cdancy.jenkins.rest.features.JobsApi;
@@ -28,17 +35,28 @@ import com.cdancy.jenkins.rest.features.SystemApi;
 import com.cdancy.jenkins.rest.features.UserApi;
 import com.cdancy.jenkins.rest.filters.CrumbMessageBodyReader;
 import com.cdancy.jenkins.rest.filters.JenkinsAuthenticationFilter;
+import com.cdancy.jenkins.rest.filters.JenkinsConditionalRequestFilter;
+import com.cdancy.jenkins.rest.filters.JenkinsConditionalResponseFilter;
 import com.cdancy.jenkins.rest.filters.JenkinsCrumbResponseFilter;
 import com.cdancy.jenkins.rest.filters.JenkinsNoCrumbAuthenticationFilter;
 import com.cdancy.jenkins.rest.filters.JenkinsUserInjectionFilter;
+import com.cdancy.jenkins.rest.pool.ConnectionPoolStats;
+import com.cdancy.jenkins.rest.pool.SharedConnectionPool;
+import com.cdancy.jenkins.rest.search.IndexingJobsApi;
+import com.cdancy.jenkins.rest.search.JobSearchIndex;
 import java.io.IOException;
 import java.net.URI;
 import java.security.KeyManagementException;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 import javax.net.ssl.HostnameVerifier;
 import javax.net.ssl.SSLContext;
@@ -50,10 +68,18 @@ import org.eclipse.microprofile.rest.client.RestClientBuilder;
 /**
  * Builder-style Jenkins API client that uses MicroProfile RestClient.
  * Each API interface is backed by a RestClient proxy.
+ * Close it once done to release the shared connection pool and the virtual thread executor, when requested.
  */
-public final class JenkinsApi
+public final class JenkinsApi implements AutoCloseable
 {
 
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final SharedConnectionPool connectionPool;
+    private final ExecutorService ownedExecutor;
+    private final ConditionalResponseCache responseCache;
+    private final SingleFlight singleFlight;
+    private final Set<Class<?>> coalescedApis;
     private final CrumbIssuerApi crumbIssuerApi;
     private final JobsApi jobsApi;
     private final PluginManagerApi pluginManagerApi;
@@ -62,9 +88,18 @@ public final class JenkinsApi
     private final SystemApi systemApi;
     private final ConfigurationAsCodeApi configurationAsCodeApi;
     private final UserApi userApi;
+    private final AsyncJenkinsApi asyncApi;
 
     private JenkinsApi(Builder builder)
     {
+        this.ownedExecutor = builder.ownsExecutor ? builder.executor : null;
+        this.connectionPool = builder.sharedConnectionPool
+            ? new SharedConnectionPool(builder.maxConnectionsTotal, builder.maxConnectionsPerRoute,
+                builder.connectionTimeToLiveMillis, builder.idleConnectionEvictionMillis,
+                (int) TimeUnit.SECONDS.toMillis(TIMEOUT_SECONDS),
+                AllTrustedConnectionFactory.getSslContext(), AllTrustedConnectionFactory.getHostnameVerifier())
+            : null;
+
         RestClientBuilder looseSecurityBuilder = fromBuilder(builder)
             .register(new JenkinsNoCrumbAuthenticationFilter(builder.creds))
             .register(JenkinsCrumbResponseFilter.class)
@@ -76,14 +111,33 @@ public final class JenkinsApi
             .register(new JenkinsAuthenticationFilter(builder.creds, crumbIssuerApi))
             .register(new JenkinsUserInjectionFilter(builder.creds));
 
+        this.responseCache = builder.responseCacheMaxSizeBytes > 0
+            ? new ConditionalResponseCache(builder.responseCacheMaxSizeBytes)
+            : null;
+        Optional.ofNullable(responseCache).ifPresent(cache -> authSecurityBuilder
+            .register(new JenkinsConditionalRequestFilter(cache))
+            .register(new JenkinsConditionalResponseFilter(cache)));
+
+        this.coalescedApis = Set.copyOf(builder.coalescedApis);
+        this.singleFlight = coalescedApis.isEmpty() ? null : new SingleFlight();
 
-        this.jobsApi = authSecurityBuilder.build(JobsApi.class);
-        this.pluginManagerApi = authSecurityBuilder.build(PluginManagerApi.class);
-        this.queueApi = authSecurityBuilder.build(QueueApi.class);
-        this.statisticsApi = authSecurityBuilder.build(StatisticsApi.class);
-        this.systemApi = authSecurityBuilder.build(SystemApi.class);
+        JobsApi restJobsApi = authSecurityBuilder.build(JobsApi.class);
+        if (builder.completedBuildCache != null)
+        {
+            restJobsApi = CachingJobsApi.of(restJobsApi, builder.completedBuildCache);
+        }
+        if (builder.jobSearchIndex != null)
+        {
+            restJobsApi = IndexingJobsApi.of(restJobsApi, builder.jobSearchIndex);
+        }
+        this.jobsApi = coalesced(JobsApi.class, restJobsApi);
+        this.pluginManagerApi = coalesced(PluginManagerApi.class, authSecurityBuilder.build(PluginManagerApi.class));
+        this.queueApi = coalesced(QueueApi.class, authSecurityBuilder.build(QueueApi.class));
+        this.statisticsApi = coalesced(StatisticsApi.class, authSecurityBuilder.build(StatisticsApi.class));
+        this.systemApi = coalesced(SystemApi.class, authSecurityBuilder.build(SystemApi.class));
         this.configurationAsCodeApi = authSecurityBuilder.build(ConfigurationAsCodeApi.class);
-        this.userApi = authSecurityBuilder.build(UserApi.class);
+        this.userApi = coalesced(UserApi.class, authSecurityBuilder.build(UserApi.class));
+        this.asyncApi = new AsyncJenkinsApi(authSecurityBuilder);
     }
 
     private RestClientBuilder fromBuilder(Builder builder)
@@ -92,7 +146,8 @@ public final class JenkinsApi
             .hostnameVerifier(AllTrustedConnectionFactory.getHostnameVerifier())
             .sslContext(AllTrustedConnectionFactory.getSslContext())
             .baseUri(builder.endpoint).followRedirects(true)
-            .readTimeout(10, TimeUnit.SECONDS).connectTimeout(10, TimeUnit.SECONDS);
+            .readTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS).connectTimeout(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        Optional.ofNullable(connectionPool).ifPresent(pool -> restBuilder.register(pool.engine()));
         Optional.ofNullable(builder.components).ifPresent(components -> {
                 for (Object component : components)
                 {
@@ -107,6 +162,8 @@ public final class JenkinsApi
             )
         );
 
+        Optional.ofNullable(builder.executor).ifPresent(restBuilder::executorService);
+
         if (!builder.enableDefaultExceptionMapper) {
             restBuilder.property("microprofile.rest.client.disable.default.mapper", true);
         }
@@ -114,6 +171,11 @@ public final class JenkinsApi
         return restBuilder;
     }
 
+    private <T> T coalesced(Class<T> api, T proxy)
+    {
+        return coalescedApis.contains(api) ? CoalescingApi.of(api, proxy, singleFlight) : proxy;
+    }
+
     public CrumbIssuerApi crumbIssuerApi()
     {
         return crumbIssuerApi;
@@ -154,6 +216,61 @@ public final class JenkinsApi
         return userApi;
     }
 
+    /**
+     * @return statistics of the connection pool shared by all proxies, empty when
+     * {@link Builder#sharedConnectionPool()} was not requested.
+     */
+    public Optional<ConnectionPoolStats> connectionPoolStats()
+    {
+        return Optional.ofNullable(connectionPool).map(SharedConnectionPool::stats);
+    }
+
+    /**
+     * @return hit and miss counters of the conditional GET cache, empty when
+     * {@link Builder#responseCache(long)} was not requested.
+     */
+    public Optional<ResponseCacheStats> responseCacheStats()
+    {
+        return Optional.ofNullable(responseCache).map(ConditionalResponseCache::stats);
+    }
+
+    /**
+     * @return how many idempotent reads shared an in-flight request, empty when
+     * {@link Builder#coalesceRequests(Class[])} was not requested.
+     */
+    public Optional<CoalescingStats> coalescingStats()
+    {
+        return Optional.ofNullable(singleFlight).map(SingleFlight::stats);
+    }
+
+    /**
+     * The non-blocking apis call the RestClient directly: the response cache applies to them, but the
+     * completed build cache, the job search index and request coalescing only wrap the blocking apis.
+     *
+     * @return the non-blocking variants of the jobs, queue, statistics and system apis.
+     */
+    public AsyncJenkinsApi async()
+    {
+        return asyncApi;
+    }
+
+    /**
+     * Waits for the asynchronous calls in flight on the executor created by {@link Builder#virtualThreads()},
+     * then closes the shared connection pool and stops its idle connection evictor. An executor passed to
+     * {@link Builder#executor(ExecutorService)} is left to its owner. The apis cannot be used afterwards.
+     */
+    @Override
+    public void close()
+    {
+        try
+        {
+            Optional.ofNullable(ownedExecutor).ifPresent(ExecutorService::close);
+        } finally
+        {
+            Optional.ofNullable(connectionPool).ifPresent(SharedConnectionPool::close);
+        }
+    }
+
     // ---------------------------------------------------------------------
     // Builder
     // ---------------------------------------------------------------------
@@ -164,6 +281,17 @@ public final class JenkinsApi
         private Object[] components;
         private JenkinsAuthentication creds;
         private boolean enableDefaultExceptionMapper;
+        private ExecutorService executor;
+        private boolean ownsExecutor;
+        private boolean sharedConnectionPool;
+        private int maxConnectionsTotal = 50;
+        private int maxConnectionsPerRoute = 20;
+        private long connectionTimeToLiveMillis = -1;
+        private long idleConnectionEvictionMillis = TimeUnit.SECONDS.toMillis(30);
+        private long responseCacheMaxSizeBytes;
+        private CompletedBuildCache completedBuildCache;
+        private JobSearchIndex jobSearchIndex;
+        private final Set<Class<?>> coalescedApis = new HashSet<>();
 
         public Builder endpoint(String endpoint)
         {
@@ -195,6 +323,150 @@ public final class JenkinsApi
             return this;
         }
 
+        /**
+         * Executor used by the RestClient for asynchronous invocations, see {@link JenkinsApi#async()}.
+         * When not set the provider default pool is used. The caller remains in charge of shutting it down.
+         *
+         * @param executor the executor to run requests and their completion stages on.
+         * @return this Builder.
+         */
+        public Builder executor(ExecutorService executor)
+        {
+            this.executor = executor;
+            this.ownsExecutor = false;
+            return this;
+        }
+
+        /**
+         * Run asynchronous invocations on a virtual thread per task executor,
+         * so that thousands of in-flight requests do not each pin a platform thread.
+         * The executor is created by {@link #build()} and shut down by {@link JenkinsApi#close()}.
+         *
+         * @return this Builder.
+         */
+        public Builder virtualThreads()
+        {
+            this.executor = null;
+            this.ownsExecutor = true;
+            return this;
+        }
+
+        /**
+         * Route every api proxy through one connection pool instead of one pool per proxy,
+         * so keep-alive sockets to the controller are reused across apis.
+         * Requires RESTEasy with the Apache HttpClient engine at runtime.
+         *
+         * @return this Builder.
+         */
+        public Builder sharedConnectionPool()
+        {
+            this.sharedConnectionPool = true;
+            return this;
+        }
+
+        /**
+         * @param maxConnectionsTotal upper bound of open connections in the shared pool (default 50).
+         * @return this Builder.
+         */
+        public Builder maxConnectionsTotal(int maxConnectionsTotal)
+        {
+            this.maxConnectionsTotal = maxConnectionsTotal;
+            return sharedConnectionPool();
+        }
+
+        /**
+         * @param maxConnectionsPerRoute upper bound of open connections to the controller (default 20).
+         * @return this Builder.
+         */
+        public Builder maxConnectionsPerRoute(int maxConnectionsPerRoute)
+        {
+            this.maxConnectionsPerRoute = maxConnectionsPerRoute;
+            return sharedConnectionPool();
+        }
+
+        /**
+         * Close kept-alive connections once they reach this age, whatever their activity (default no limit).
+         *
+         * @param timeToLive maximum connection age.
+         * @param unit       unit of timeToLive.
+         * @return this Builder.
+         */
+        public Builder connectionTimeToLive(long timeToLive, TimeUnit unit)
+        {
+            this.connectionTimeToLiveMillis = unit.toMillis(timeToLive);
+            return sharedConnectionPool();
+        }
+
+        /**
+         * Close pooled connections that stayed idle for longer than this (default 30 seconds).
+         *
+         * @param maxIdleTime maximum idle time, a non-positive value disables eviction.
+         * @param unit        unit of maxIdleTime.
+         * @return this Builder.
+         */
+        public Builder evictIdleConnections(long maxIdleTime, TimeUnit unit)
+        {
+            this.idleConnectionEvictionMillis = unit.toMillis(maxIdleTime);
+            return sharedConnectionPool();
+        }
+
+        /**
+         * Cache GET responses that carry an ETag or Last-Modified header and revalidate them
+         * with conditional requests, a 304 then returns the previously deserialized entity.
+         * Jenkins sends no validator with {@code api/json}, so job, build, plugin and load
+         * queries are not cached, and entities read as an {@code InputStream} are never buffered.
+         *
+         * @param maxSizeBytes upper bound of the cached bodies, least recently used ones are evicted first.
+         * @return this Builder.
+         */
+        public Builder responseCache(long maxSizeBytes)
+        {
+            this.responseCacheMaxSizeBytes = maxSizeBytes;
+            return this;
+        }
+
+        /**
+         * Serve {@code buildInfo}, {@code workflow} and {@code pipelineNodeLog} of finished builds
+         * from the given cache, e.g. {@code new InMemoryCompletedBuildCache(10_000, new DiskCompletedBuildCache(dir, size))}.
+         * Only {@link JenkinsApi#jobsApi()} reads through it, {@link JenkinsApi#async()} always asks Jenkins.
+         *
+         * @param completedBuildCache cache of data that no longer changes once a build is over.
+         * @return this Builder.
+         */
+        public Builder completedBuildCache(CompletedBuildCache completedBuildCache)
+        {
+            this.completedBuildCache = completedBuildCache;
+            return this;
+        }
+
+        /**
+         * Keep the given index in line with the jobs created, reconfigured, described, renamed and deleted
+         * through {@link #jobsApi()}. The index still has to be filled initially, e.g. by a crawl, and does not
+         * see changes made through {@link JenkinsApi#async()}.
+         *
+         * @param jobSearchIndex index to update.
+         * @return this Builder.
+         */
+        public Builder jobSearchIndex(JobSearchIndex jobSearchIndex)
+        {
+            this.jobSearchIndex = jobSearchIndex;
+            return this;
+        }
+
+        /**
+         * Let concurrent identical calls of the {@link com.cdancy.jenkins.rest.coalesce.Idempotent} reads
+         * of the given apis share one in-flight request and all receive its result. Calls through
+         * {@link JenkinsApi#async()} are never coalesced.
+         *
+         * @param apis api interfaces to coalesce, e.g. {@code JobsApi.class, QueueApi.class}.
+         * @return this Builder.
+         */
+        public Builder coalesceRequests(Class<?>... apis)
+        {
+            this.coalescedApis.addAll(Arrays.asList(apis));
+            return this;
+        }
+
         public JenkinsApi build()
         {
             if (endpoint == null)
@@ -206,6 +478,11 @@ public final class JenkinsApi
             {
                 throw new IllegalStateException("Credentials must be set");
             }
+            if (ownsExecutor)
+            {
+                // one executor per client, so that closing one client never stops another built from this Builder
+                executor = Executors.newVirtualThreadPerTaskExecutor();
+            }
             return new JenkinsApi(this);
         }
     }
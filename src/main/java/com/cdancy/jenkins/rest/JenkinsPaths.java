@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest;
+
+/**
+ * Conversions between the folder paths callers pass around and the form Jenkins URLs use.
+ */
+public final class JenkinsPaths
+{
+
+    private JenkinsPaths()
+    {
+        throw new UnsupportedOperationException("Purposefully not implemented");
+    }
+
+    /**
+     * Turn a folder path such as {@code a/b} into the Jenkins URL form {@code job/a/job/b}.
+     * Segments already prefixed with {@code job/} are kept as they are.
+     */
+    public static String appendFolderPrefixIfNeeded(String folderPath)
+    {
+        String[] split = folderPath.split("/");
+        StringBuilder path = new StringBuilder();
+        boolean skipAppendNext = false;
+        for (int index = 0; index < split.length; index++)
+        {
+            var currentSegment = split[index];
+            if (currentSegment.isEmpty()) {
+                continue;
+            }
+            if ("job".equals(currentSegment))
+            {
+                skipAppendNext = true;
+            } else if (!skipAppendNext)
+            {
+                currentSegment = "job/" + currentSegment;
+            } else
+            {
+                skipAppendNext = false;
+            }
+
+            if (index != split.length - 1)
+            {
+                currentSegment += "/";
+            }
+
+            path.append(currentSegment);
+        }
+
+        if (path.isEmpty())
+        {
+            return "job/" + folderPath;
+        } else
+        {
+            return path.toString();
+        }
+    }
+
+    /**
+     * @return the folder as a plain slash separated path, "team/app" for both "team/app" and "job/team/job/app".
+     */
+    public static String displayPath(String folderPath)
+    {
+        if (folderPath == null)
+        {
+            return "";
+        }
+        String[] segments = folderPath.replaceAll("^/+|/+$", "").split("/+");
+        boolean prefixed = segments.length > 1 && "job".equals(segments[0]);
+        StringBuilder path = new StringBuilder();
+        for (int index = prefixed ? 1 : 0; index < segments.length; index += prefixed ? 2 : 1)
+        {
+            path.append(path.length() == 0 ? "" : "/").append(segments[index]);
+        }
+        return path.toString();
+    }
+}
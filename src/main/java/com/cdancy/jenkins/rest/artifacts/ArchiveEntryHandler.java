@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Receives the files of an artifact archive as it is being read.
+ */
+@FunctionalInterface
+public interface ArchiveEntryHandler
+{
+    /**
+     * @param relativePath path of the artifact, relative to the artifacts root of the build like
+     *                     {@link com.cdancy.jenkins.rest.domain.job.Artifact#getRelativePath()}.
+     * @param content      bytes of this entry only, valid until the method returns; it must not be closed.
+     */
+    void accept(String relativePath, InputStream content) throws IOException;
+}
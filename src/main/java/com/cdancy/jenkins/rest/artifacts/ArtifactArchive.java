@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Unpacks the zip Jenkins streams for <code>artifact/*zip*&#47;archive.zip</code> while it is downloaded,
+ * so memory stays bounded by the inflater window whatever the archive size.
+ * <p>
+ * Jenkins nests the entries under the name of the zipped directory, {@code archive/} for the whole artifacts
+ * root; that level is dropped so handlers see the same relative paths as the build's artifact list.
+ */
+public final class ArtifactArchive
+{
+    private static final String ROOT_NAME = "archive";
+
+    private ArtifactArchive()
+    {
+    }
+
+    /**
+     * @return the name Jenkins serves the zip of {@code subPath} under, relative to the artifacts root.
+     */
+    public static String archivePath(String subPath)
+    {
+        String directory = trim(subPath);
+        return directory.isEmpty()
+            ? "*zip*/" + ROOT_NAME + ".zip"
+            : directory + "/*zip*/" + lastSegment(directory) + ".zip";
+    }
+
+    /**
+     * @param subPath the directory the archive was requested for, null or empty for all the artifacts.
+     * @return the number of files handed to the handler.
+     */
+    public static long forEach(InputStream archive, String subPath, ArchiveEntryHandler handler) throws IOException
+    {
+        String directory = trim(subPath);
+        String topLevel = (directory.isEmpty() ? ROOT_NAME : lastSegment(directory)) + "/";
+        String parent = directory.isEmpty() || directory.indexOf('/') < 0
+            ? ""
+            : directory.substring(0, directory.lastIndexOf('/') + 1);
+
+        long files = 0;
+        ZipInputStream zip = new ZipInputStream(archive);
+        ZipEntry entry;
+        while ((entry = zip.getNextEntry()) != null)
+        {
+            if (entry.isDirectory())
+            {
+                continue;
+            }
+            String name = entry.getName();
+            String relativePath = name.startsWith(topLevel)
+                ? (directory.isEmpty() ? name.substring(topLevel.length()) : parent + name)
+                : name;
+            handler.accept(relativePath, new EntryStream(zip));
+            zip.closeEntry();
+            files++;
+        }
+        return files;
+    }
+
+    /**
+     * Writes every file of the archive below {@code targetDirectory} at its artifact relative path.
+     *
+     * @return the number of files written.
+     * @throws IOException also when an entry would land outside of targetDirectory.
+     */
+    public static long extract(InputStream archive, String subPath, Path targetDirectory) throws IOException
+    {
+        Path root = targetDirectory.toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        return forEach(archive, subPath, (relativePath, content) ->
+        {
+            Path target = root.resolve(relativePath).normalize();
+            if (!target.startsWith(root) || target.equals(root))
+            {
+                throw new IOException("Archive entry " + relativePath + " escapes " + root);
+            }
+            Files.createDirectories(target.getParent());
+            Files.copy(content, target, StandardCopyOption.REPLACE_EXISTING);
+        });
+    }
+
+    private static String trim(String subPath)
+    {
+        if (subPath == null)
+        {
+            return "";
+        }
+        int start = 0;
+        int end = subPath.length();
+        while (start < end && subPath.charAt(start) == '/')
+        {
+            start++;
+        }
+        while (end > start && subPath.charAt(end - 1) == '/')
+        {
+            end--;
+        }
+        return subPath.substring(start, end);
+    }
+
+    private static String lastSegment(String directory)
+    {
+        return directory.substring(directory.lastIndexOf('/') + 1);
+    }
+
+    // keeps handlers from closing the whole archive
+    private static final class EntryStream extends FilterInputStream
+    {
+        EntryStream(InputStream in)
+        {
+            super(in);
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
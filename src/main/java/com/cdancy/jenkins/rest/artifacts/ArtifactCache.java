@@ -0,0 +1,360 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.cdancy.jenkins.rest.cache.CompletedBuildKey;
+import com.cdancy.jenkins.rest.coalesce.SingleFlight;
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Local, content addressed cache of build artifacts.
+ * <p>
+ * Contents are stored once per SHA-256 under {@code blobs/}, whatever the number of (job, build, path)
+ * keys pointing at them from {@code index/}. Only artifacts of finished builds get an index entry, those of
+ * running builds are downloaded every time, although their content is still deduplicated.
+ * Hits are served straight from the blob, as a {@link Path}, a stream or a read only memory mapping,
+ * without any request to Jenkins. The least recently used blobs are deleted past {@code maxSizeBytes}, except
+ * for those looked up shortly before, whose paths may still be in use; index entries left without their blob
+ * are pruned by the same sweep, or count as misses when found first.
+ */
+public final class ArtifactCache
+{
+    private static final System.Logger LOGGER = System.getLogger(ArtifactCache.class.getName());
+    private static final Projection<BuildInfo> BUILD_STATE = Projection.of(BuildInfo.class).fields("building", "result");
+    // blobs used this long before the latest lookup are not evicted, their callers are likely still reading them
+    private static final long LOOKUP_GRACE_MILLIS = 10_000;
+
+    private final JobsApi jobsApi;
+    private final ArtifactDownloader downloader;
+    private final Path blobs;
+    private final Path index;
+    private final Path incoming;
+    private final long maxSizeBytes;
+    private final AtomicLong sizeBytes = new AtomicLong();
+    private volatile long lastLookupMillis;
+    private final SingleFlight downloads = new SingleFlight();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder deduplicated = new LongAdder();
+
+    public ArtifactCache(JobsApi jobsApi, Path directory, long maxSizeBytes)
+    {
+        this(jobsApi, new ArtifactDownloader(jobsApi), directory, maxSizeBytes);
+    }
+
+    /**
+     * @param downloader   used on misses, which it fetches as a single range hashed while written.
+     * @param directory    created if missing, should not be shared with anything else.
+     * @param maxSizeBytes upper bound of the summed content sizes.
+     */
+    public ArtifactCache(JobsApi jobsApi, ArtifactDownloader downloader, Path directory, long maxSizeBytes)
+    {
+        if (maxSizeBytes <= 0)
+        {
+            throw new IllegalArgumentException("maxSizeBytes must be positive");
+        }
+        this.jobsApi = jobsApi;
+        this.downloader = downloader;
+        this.blobs = directory.resolve("blobs");
+        this.index = directory.resolve("index");
+        this.incoming = directory.resolve("incoming");
+        this.maxSizeBytes = maxSizeBytes;
+        try
+        {
+            Files.createDirectories(blobs);
+            Files.createDirectories(index);
+            Files.createDirectories(incoming);
+            for (Path blob : list(blobs))
+            {
+                sizeBytes.addAndGet(Files.size(blob));
+            }
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return the cached file holding the artifact, downloaded first on a miss. It must not be modified.
+     */
+    public Path path(String folderPath, String jobName, int buildNumber, String relativePath)
+        throws IOException, InterruptedException
+    {
+        CompletedBuildKey key = CompletedBuildKey.of(folderPath, jobName, buildNumber, "artifact/" + relativePath);
+        Path indexFile = index.resolve(sha256(key.toString()));
+        Path cached = lookup(indexFile);
+        if (cached != null)
+        {
+            hits.increment();
+            return cached;
+        }
+
+        misses.increment();
+        try
+        {
+            return (Path) downloads.execute(key, () -> download(key, indexFile, folderPath, jobName, buildNumber, relativePath));
+        } catch (IOException | InterruptedException | RuntimeException | Error e)
+        {
+            throw e;
+        } catch (Throwable t)
+        {
+            throw new IOException(t);
+        }
+    }
+
+    public InputStream open(String folderPath, String jobName, int buildNumber, String relativePath)
+        throws IOException, InterruptedException
+    {
+        return Files.newInputStream(path(folderPath, jobName, buildNumber, relativePath));
+    }
+
+    /**
+     * @return the artifact mapped read only into memory, limited to artifacts under 2 GB.
+     */
+    public ByteBuffer map(String folderPath, String jobName, int buildNumber, String relativePath)
+        throws IOException, InterruptedException
+    {
+        try (FileChannel channel = FileChannel.open(path(folderPath, jobName, buildNumber, relativePath), StandardOpenOption.READ))
+        {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+    }
+
+    public ArtifactCacheStats stats()
+    {
+        return new ArtifactCacheStats(hits.sum(), misses.sum(), deduplicated.sum(), sizeBytes.get(), maxSizeBytes);
+    }
+
+    private Path lookup(Path indexFile) throws IOException
+    {
+        String hash;
+        try
+        {
+            hash = Files.readString(indexFile, UTF_8);
+        } catch (NoSuchFileException e)
+        {
+            return null;
+        }
+
+        Path blob = blobs.resolve(hash);
+        try
+        {
+            touch(blob);
+            return blob;
+        } catch (NoSuchFileException e)
+        {
+            Files.deleteIfExists(indexFile);
+            return null;
+        }
+    }
+
+    private Path download(CompletedBuildKey key, Path indexFile, String folderPath, String jobName, int buildNumber,
+                          String relativePath) throws IOException, InterruptedException
+    {
+        // asked first: artifacts read while the build still runs may change before it ends
+        boolean finished = isFinished(folderPath, jobName, buildNumber);
+        Path temp = Files.createTempFile(incoming, "artifact", ".tmp");
+        try
+        {
+            MessageDigest digest = sha256();
+            downloader.downloadHashing(folderPath, jobName, buildNumber, relativePath, temp, digest);
+            String hash = HexFormat.of().formatHex(digest.digest());
+            Path blob = blobs.resolve(hash);
+            if (!store(temp, blob))
+            {
+                deduplicated.increment();
+            }
+            touch(blob);
+
+            if (finished)
+            {
+                Path indexTemp = Files.createTempFile(incoming, "index", ".tmp");
+                Files.writeString(indexTemp, hash, UTF_8);
+                Files.move(indexTemp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } else
+            {
+                LOGGER.log(Level.DEBUG, key + " is not indexed, its build is still running");
+            }
+            evict(blob);
+            return blob;
+        } finally
+        {
+            Files.deleteIfExists(temp);
+            // unique per download, a partial file could never be resumed
+            Files.deleteIfExists(temp.resolveSibling(temp.getFileName() + ".part"));
+            Files.deleteIfExists(temp.resolveSibling(temp.getFileName() + ".part.validator"));
+        }
+    }
+
+    /**
+     * @return false when an identical blob was there already, e.g. downloaded meanwhile under another key.
+     */
+    private boolean store(Path temp, Path blob) throws IOException
+    {
+        // serialized with the sweep so that sizeBytes never counts a blob twice
+        synchronized (this)
+        {
+            if (Files.exists(blob))
+            {
+                return false;
+            }
+            long size = Files.size(temp);
+            try
+            {
+                Files.move(temp, blob, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e)
+            {
+                return false;
+            }
+            sizeBytes.addAndGet(size);
+            return true;
+        }
+    }
+
+    private void touch(Path blob) throws IOException
+    {
+        long now = System.currentTimeMillis();
+        Files.setLastModifiedTime(blob, FileTime.fromMillis(now));
+        lastLookupMillis = Math.max(lastLookupMillis, now);
+    }
+
+    private boolean isFinished(String folderPath, String jobName, int buildNumber)
+    {
+        ResponseResult<BuildInfo> state = jobsApi.buildInfo(folderPath, jobName, buildNumber, BUILD_STATE);
+        return state.isSuccess() && state.getEntity() != null
+            && !state.getEntity().isBuilding() && state.getEntity().getResult() != null;
+    }
+
+    private synchronized void evict(Path keep) throws IOException
+    {
+        if (sizeBytes.get() <= maxSizeBytes)
+        {
+            return;
+        }
+        long protectedSince = lastLookupMillis - LOOKUP_GRACE_MILLIS;
+        List<Path> oldestFirst = list(blobs).stream()
+            .filter(blob -> !blob.equals(keep) && lastModified(blob).toMillis() < protectedSince)
+            .sorted(Comparator.comparing(ArtifactCache::lastModified))
+            .toList();
+        boolean evicted = false;
+        for (Path blob : oldestFirst)
+        {
+            if (sizeBytes.get() <= maxSizeBytes)
+            {
+                break;
+            }
+            try
+            {
+                long size = Files.size(blob);
+                if (Files.deleteIfExists(blob))
+                {
+                    sizeBytes.addAndGet(-size);
+                    evicted = true;
+                }
+            } catch (IOException e)
+            {
+                // e.g. still mapped on platforms that refuse to delete open files
+                LOGGER.log(Level.DEBUG, "Could not evict " + blob, e);
+            }
+        }
+        if (evicted)
+        {
+            pruneIndex();
+        }
+    }
+
+    // drops the index entries whose blob was evicted
+    private void pruneIndex() throws IOException
+    {
+        for (Path indexFile : list(index))
+        {
+            try
+            {
+                if (!Files.exists(blobs.resolve(Files.readString(indexFile, UTF_8))))
+                {
+                    Files.deleteIfExists(indexFile);
+                }
+            } catch (NoSuchFileException e)
+            {
+                // pruned by a lookup meanwhile
+            }
+        }
+    }
+
+    private static List<Path> list(Path directory) throws IOException
+    {
+        try (Stream<Path> files = Files.list(directory))
+        {
+            return files.toList();
+        }
+    }
+
+    private static FileTime lastModified(Path file)
+    {
+        try
+        {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e)
+        {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static String sha256(String text)
+    {
+        return HexFormat.of().formatHex(sha256().digest(text.getBytes(UTF_8)));
+    }
+
+    private static MessageDigest sha256()
+    {
+        try
+        {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
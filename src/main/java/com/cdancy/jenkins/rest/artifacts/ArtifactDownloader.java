@@ -0,0 +1,515 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import com.cdancy.jenkins.rest.domain.job.Artifact;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import com.cdancy.jenkins.rest.pool.BufferPool;
+import jakarta.ws.rs.ProcessingException;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Downloads artifacts to files with HTTP {@code Range} requests.
+ * <p>
+ *  - the content goes to {@code <target>.part} and is moved to the target once complete and verified
+ *  - a dropped connection or a response ending short is resumed from the last byte written,
+ *    up to {@code maxRetries} times per part
+ *  - a {@code .part} file left by an earlier sequential download is resumed rather than started over, provided the
+ *    artifact still has the {@code ETag} (or {@code Last-Modified}) recorded next to it in {@code <target>.part.validator}
+ *  - artifacts of at least two parts are split in up to {@code parallelism} ranges fetched on virtual threads
+ *    and written at their offsets of one {@link FileChannel}
+ * Servers that ignore ranges get a plain sequential download.
+ */
+public final class ArtifactDownloader
+{
+    private static final long DEFAULT_PART_SIZE = 16L * 1024 * 1024;
+
+    private final JobsApi jobsApi;
+    private final int parallelism;
+    private final long partSize;
+    private final int maxRetries;
+    private final BufferPool buffers;
+
+    public ArtifactDownloader(JobsApi jobsApi)
+    {
+        this(jobsApi, 4, DEFAULT_PART_SIZE, 3, new BufferPool(64 * 1024, 64));
+    }
+
+    /**
+     * @param parallelism maximum number of ranges fetched at once.
+     * @param partSize    smallest range worth its own request.
+     * @param maxRetries  resumptions allowed per range before giving up.
+     */
+    public ArtifactDownloader(JobsApi jobsApi, int parallelism, long partSize, int maxRetries, BufferPool buffers)
+    {
+        if (parallelism <= 0 || partSize <= 0 || maxRetries < 0)
+        {
+            throw new IllegalArgumentException("Expected parallelism > 0, partSize > 0 and maxRetries >= 0");
+        }
+        this.jobsApi = jobsApi;
+        this.parallelism = parallelism;
+        this.partSize = partSize;
+        this.maxRetries = maxRetries;
+        this.buffers = buffers;
+    }
+
+    public Path download(String folderPath, String jobName, int buildNumber, String relativePath, Path target)
+        throws IOException, InterruptedException
+    {
+        return download(folderPath, jobName, buildNumber, relativePath, target, null);
+    }
+
+    /**
+     * @param checksum digest the content must match, null to skip verification.
+     * @return the target.
+     * @throws IOException when the artifact cannot be read within the retries, changed while downloading,
+     *                     or does not match the checksum.
+     */
+    public Path download(String folderPath, String jobName, int buildNumber, String relativePath, Path target,
+                         Checksum checksum) throws IOException, InterruptedException
+    {
+        return download(new Source(folderPath, jobName, buildNumber, relativePath), target, checksum, true, null);
+    }
+
+    /**
+     * Downloads the artifact as a single range, over one connection at a time, and feeds its bytes to
+     * {@code digest} as they are written, so that the caller gets its hash without reading the file again.
+     * A leftover {@code .part} file is started over rather than resumed.
+     */
+    Path downloadHashing(String folderPath, String jobName, int buildNumber, String relativePath, Path target,
+                         MessageDigest digest) throws IOException, InterruptedException
+    {
+        return download(new Source(folderPath, jobName, buildNumber, relativePath), target, null, false,
+            Objects.requireNonNull(digest, "digest"));
+    }
+
+    /**
+     * Downloads every artifact of a build matching {@code glob} below {@code targetDirectory}, at its relative path.
+     * Several files are fetched at once, up to {@code parallelism}, each over a single connection; a lone match
+     * is split in ranges like any other download.
+     *
+     * @return the files written, in the order of the build's artifact list.
+     * @throws IOException when the artifacts cannot be listed or one of them cannot be downloaded.
+     */
+    public List<Path> downloadAll(String folderPath, String jobName, int buildNumber, ArtifactGlob glob,
+                                  Path targetDirectory) throws IOException, InterruptedException
+    {
+        ResponseResult<List<Artifact>> artifacts = jobsApi.artifacts(folderPath, jobName, buildNumber, glob);
+        if (!artifacts.isSuccess() || artifacts.getEntity() == null)
+        {
+            throw new IOException("Could not list the artifacts of " + jobName + " #" + buildNumber + " ("
+                + artifacts.getStatus() + "): " + artifacts.getError());
+        }
+
+        Path root = targetDirectory.toAbsolutePath().normalize();
+        List<Source> sources = new ArrayList<>();
+        List<Path> targets = new ArrayList<>();
+        for (Artifact artifact : artifacts.getEntity())
+        {
+            Path target = root.resolve(artifact.getRelativePath()).normalize();
+            if (!target.startsWith(root) || target.equals(root))
+            {
+                throw new IOException("Artifact " + artifact.getRelativePath() + " escapes " + root);
+            }
+            Files.createDirectories(target.getParent());
+            sources.add(new Source(folderPath, jobName, buildNumber, artifact.getRelativePath()));
+            targets.add(target);
+        }
+
+        if (sources.size() == 1 || parallelism == 1)
+        {
+            for (int index = 0; index < sources.size(); index++)
+            {
+                download(sources.get(index), targets.get(index), null, sources.size() == 1, null);
+            }
+            return targets;
+        }
+
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<Path>> files = new ArrayList<>(sources.size());
+            for (int index = 0; index < sources.size(); index++)
+            {
+                Source source = sources.get(index);
+                Path target = targets.get(index);
+                files.add(executor.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return download(source, target, null, false, null);
+                    } finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<Path> file : files)
+            {
+                try
+                {
+                    file.get();
+                } catch (ExecutionException e)
+                {
+                    files.forEach(other -> other.cancel(true));
+                    if (e.getCause() instanceof IOException io)
+                    {
+                        throw io;
+                    }
+                    throw new IOException("Could not download the artifacts of " + jobName + " #" + buildNumber, e.getCause());
+                }
+            }
+        }
+        return targets;
+    }
+
+    private Path download(Source source, Path target, Checksum checksum, boolean split, MessageDigest digest)
+        throws IOException, InterruptedException
+    {
+        Head head = head(source);
+        Path part = target.resolveSibling(target.getFileName() + ".part");
+        Path validator = target.resolveSibling(target.getFileName() + ".part.validator");
+        boolean parallel = split && head.acceptsRanges() && head.length() >= 2 * partSize && parallelism > 1;
+
+        try (FileChannel channel = FileChannel.open(part, CREATE, WRITE, READ))
+        {
+            if (head.length() == 0)
+            {
+                // nothing to fetch, and an open range on an empty file is unsatisfiable
+                channel.truncate(0);
+            } else if (!head.acceptsRanges() || head.length() < 0)
+            {
+                channel.truncate(0);
+                fetch(source, head, channel, 0, -1, false, digest);
+            } else if (!parallel)
+            {
+                if (digest != null || head.validator() == null || !head.validator().equals(readValidator(validator)))
+                {
+                    // the bytes of an unknown or since changed artifact must not be continued
+                    channel.truncate(0);
+                }
+                if (head.validator() != null)
+                {
+                    Files.writeString(validator, head.validator(), UTF_8);
+                } else
+                {
+                    Files.deleteIfExists(validator);
+                }
+                long resumeFrom = Math.min(channel.size(), head.length());
+                fetch(source, head, channel, resumeFrom, head.length() - 1, true, digest);
+            } else
+            {
+                channel.truncate(0);
+                fetchParallel(source, head, channel);
+            }
+            channel.force(false);
+
+            if (head.length() >= 0 && channel.size() != head.length())
+            {
+                throw new IOException("Downloaded " + channel.size() + " bytes of " + source + " instead of " + head.length());
+            }
+            if (checksum != null)
+            {
+                verify(channel, checksum, source);
+            }
+        } catch (IOException e)
+        {
+            // a corrupt part must not be resumed, nor one with holes left by parallel ranges
+            if (parallel || e instanceof CorruptDownloadException)
+            {
+                Files.deleteIfExists(part);
+                Files.deleteIfExists(validator);
+            }
+            throw e;
+        }
+        Path moved = Files.move(part, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(validator);
+        return moved;
+    }
+
+    private static String readValidator(Path validator) throws IOException
+    {
+        return Files.exists(validator) ? Files.readString(validator, UTF_8) : null;
+    }
+
+    private void fetchParallel(Source source, Head head, FileChannel channel) throws IOException, InterruptedException
+    {
+        int parts = (int) Math.min(parallelism, (head.length() + partSize - 1) / partSize);
+        long rangeSize = (head.length() + parts - 1) / parts;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<Void>> ranges = new ArrayList<>(parts);
+            for (int index = 0; index < parts; index++)
+            {
+                long from = index * rangeSize;
+                long to = Math.min(head.length(), from + rangeSize) - 1;
+                ranges.add(executor.submit(() -> {
+                    fetch(source, head, channel, from, to, true, null);
+                    return null;
+                }));
+            }
+            for (Future<Void> range : ranges)
+            {
+                try
+                {
+                    range.get();
+                } catch (ExecutionException e)
+                {
+                    ranges.forEach(other -> other.cancel(true));
+                    if (e.getCause() instanceof IOException io)
+                    {
+                        throw io;
+                    }
+                    throw new IOException("Could not download " + source, e.getCause());
+                }
+            }
+        }
+    }
+
+    /**
+     * Write bytes {@code from}..{@code to} (inclusive, negative for up to the end) at their offsets,
+     * resuming after the last written byte on failures.
+     *
+     * @param digest updated with every byte written in order, null when not hashing.
+     */
+    private void fetch(Source source, Head head, FileChannel channel, long from, long to, boolean ranged,
+                       MessageDigest digest) throws IOException
+    {
+        Progress progress = new Progress(from);
+        int attempt = 0;
+        while (to < 0 || progress.position <= to)
+        {
+            long start = progress.position;
+            try
+            {
+                copy(source, head, channel, progress, to, ranged, digest);
+                if (to < 0)
+                {
+                    return;
+                }
+                if (progress.position <= to)
+                {
+                    // counts as a failed attempt, a response that keeps ending early must not loop forever
+                    throw new IOException("Response for " + source + " ended at byte " + progress.position
+                        + " of range " + start + "-" + to);
+                }
+            } catch (IOException | ProcessingException e)
+            {
+                if (e instanceof CorruptDownloadException || ++attempt > maxRetries)
+                {
+                    throw e instanceof IOException io ? io : new IOException("Could not download " + source, e);
+                }
+                if (!ranged)
+                {
+                    // without ranges the only way to resume is from the start
+                    channel.truncate(0);
+                    progress.position = 0;
+                    if (digest != null)
+                    {
+                        digest.reset();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the response from {@code progress.position} on, moving it past every byte written so that a
+     * failure part-way leaves it where the next attempt resumes.
+     */
+    private void copy(Source source, Head head, FileChannel channel, Progress progress, long to, boolean ranged,
+                      MessageDigest digest) throws IOException
+    {
+        Response response = ranged
+            ? jobsApi.artifactRangeRaw(source.folderPath, source.jobName, source.buildNumber, source.relativePath,
+                progress.position, to)
+            : jobsApi.artifactRangeRaw(source.folderPath, source.jobName, source.buildNumber, source.relativePath, 0, -1);
+        ByteBuffer buffer = buffers.acquire();
+        try
+        {
+            int status = response.getStatus();
+            if (ranged && status != Response.Status.PARTIAL_CONTENT.getStatusCode())
+            {
+                throw new IOException("Expected a partial response for " + source + " but got " + status);
+            } else if (!ranged && status != Response.Status.OK.getStatusCode()
+                && status != Response.Status.PARTIAL_CONTENT.getStatusCode())
+            {
+                throw new IOException("Could not download " + source + " (" + status + ")");
+            }
+            String etag = response.getHeaderString(HttpHeaders.ETAG);
+            if (head.etag() != null && etag != null && !head.etag().equals(etag))
+            {
+                throw new CorruptDownloadException(source + " changed while downloading");
+            }
+
+            try (InputStream in = response.readEntity(InputStream.class))
+            {
+                int read;
+                while ((read = in.read(buffer.array(), 0, buffer.capacity())) != -1)
+                {
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining())
+                    {
+                        int offset = buffer.position();
+                        int written = channel.write(buffer, progress.position);
+                        progress.position += written;
+                        if (digest != null)
+                        {
+                            digest.update(buffer.array(), offset, written);
+                        }
+                    }
+                }
+            }
+        } finally
+        {
+            buffers.release(buffer);
+            response.close();
+        }
+    }
+
+    private void verify(FileChannel channel, Checksum checksum, Source source) throws IOException
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance(checksum.algorithm());
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalArgumentException(e);
+        }
+
+        ByteBuffer buffer = buffers.acquire();
+        try
+        {
+            long position = 0;
+            int read;
+            while ((read = channel.read(buffer.clear(), position)) != -1)
+            {
+                digest.update(buffer.array(), 0, read);
+                position += read;
+            }
+        } finally
+        {
+            buffers.release(buffer);
+        }
+        if (!checksum.matches(digest.digest()))
+        {
+            throw new CorruptDownloadException(checksum.algorithm() + " of " + source + " does not match " + checksum.expectedHex());
+        }
+    }
+
+    private Head head(Source source) throws IOException
+    {
+        Response response = jobsApi.artifactHeadRaw(source.folderPath, source.jobName, source.buildNumber, source.relativePath);
+        try
+        {
+            if (response.getStatus() == Response.Status.METHOD_NOT_ALLOWED.getStatusCode()
+                || response.getStatus() == Response.Status.NOT_IMPLEMENTED.getStatusCode())
+            {
+                return new Head(-1, false, null, null);
+            } else if (response.getStatus() != Response.Status.OK.getStatusCode())
+            {
+                throw new IOException("Could not find " + source + " (" + response.getStatus() + ")");
+            }
+            String length = response.getHeaderString(HttpHeaders.CONTENT_LENGTH);
+            return new Head(length != null ? Long.parseLong(length) : -1,
+                "bytes".equalsIgnoreCase(response.getHeaderString("Accept-Ranges")),
+                response.getHeaderString(HttpHeaders.ETAG), response.getHeaderString(HttpHeaders.LAST_MODIFIED));
+        } finally
+        {
+            response.close();
+        }
+    }
+
+    private record Source(String folderPath, String jobName, int buildNumber, String relativePath)
+    {
+        Source
+        {
+            Objects.requireNonNull(jobName, "jobName");
+            Objects.requireNonNull(relativePath, "relativePath");
+        }
+
+        @Override
+        public String toString()
+        {
+            return (folderPath == null || folderPath.isEmpty() ? "" : folderPath + "/") + jobName + " #" + buildNumber
+                + " " + relativePath;
+        }
+    }
+
+    private record Head(long length, boolean acceptsRanges, String etag, String lastModified)
+    {
+        /**
+         * @return what identifies this version of the artifact, null when the server sent neither header.
+         */
+        String validator()
+        {
+            return etag != null ? etag : lastModified;
+        }
+    }
+
+    /**
+     * Offset of the next byte to write for one range, kept across its attempts.
+     */
+    private static final class Progress
+    {
+        private long position;
+
+        private Progress(long position)
+        {
+            this.position = position;
+        }
+    }
+
+    /**
+     * Content that retrying will not fix, the part file is discarded.
+     */
+    private static final class CorruptDownloadException extends IOException
+    {
+        private static final long serialVersionUID = 1L;
+
+        CorruptDownloadException(String message)
+        {
+            super(message);
+        }
+    }
+}
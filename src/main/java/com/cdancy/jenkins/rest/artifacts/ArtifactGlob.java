@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Ant style pattern over artifact relative paths, the syntax of the {@code archiveArtifacts} step:
+ * {@code *} and {@code ?} stay within a directory, {@code **} spans any number of them, including none,
+ * and several patterns may be separated by commas, e.g. {@code target/*.jar, reports/**}.
+ * <p>
+ * Compiled once into a single regular expression, instances are immutable and safe to share.
+ */
+public final class ArtifactGlob
+{
+    private static final ArtifactGlob ALL = new ArtifactGlob("**", null);
+
+    private final String glob;
+    private final Pattern pattern;
+
+    private ArtifactGlob(String glob, Pattern pattern)
+    {
+        this.glob = glob;
+        this.pattern = pattern;
+    }
+
+    /**
+     * @param glob comma separated patterns, null or blank to match every artifact.
+     */
+    public static ArtifactGlob compile(String glob)
+    {
+        if (glob == null || glob.isBlank())
+        {
+            return ALL;
+        }
+        List<String> alternatives = new ArrayList<>();
+        for (String part : glob.split(","))
+        {
+            String trimmed = part.trim();
+            if (!trimmed.isEmpty())
+            {
+                alternatives.add(toRegex(trimmed));
+            }
+        }
+        return alternatives.isEmpty() ? ALL : new ArtifactGlob(glob, Pattern.compile(String.join("|", alternatives)));
+    }
+
+    public static ArtifactGlob all()
+    {
+        return ALL;
+    }
+
+    public boolean matches(String relativePath)
+    {
+        return pattern == null || (relativePath != null && pattern.matcher(relativePath).matches());
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return this == o || (o instanceof ArtifactGlob that && glob.equals(that.glob));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return glob.hashCode();
+    }
+
+    @Override
+    public String toString()
+    {
+        return glob;
+    }
+
+    private static String toRegex(String glob)
+    {
+        String normalized = glob.replace('\\', '/');
+        while (normalized.startsWith("/"))
+        {
+            normalized = normalized.substring(1);
+        }
+        if (normalized.endsWith("/"))
+        {
+            // Ant reads a trailing slash as everything below the directory
+            normalized += "**";
+        }
+
+        StringBuilder regex = new StringBuilder("(?:");
+        int length = normalized.length();
+        for (int i = 0; i < length; i++)
+        {
+            char c = normalized.charAt(i);
+            if (c == '*' && i + 1 < length && normalized.charAt(i + 1) == '*')
+            {
+                boolean wholeSegment = (i == 0 || normalized.charAt(i - 1) == '/');
+                if (wholeSegment && i + 2 < length && normalized.charAt(i + 2) == '/')
+                {
+                    regex.append("(?:.*/)?");
+                    i += 2;
+                } else
+                {
+                    regex.append(".*");
+                    i++;
+                }
+            } else if (c == '*')
+            {
+                regex.append("[^/]*");
+            } else if (c == '?')
+            {
+                regex.append("[^/]");
+            } else if ("\\.[]{}()<>+-=!^$|".indexOf(c) >= 0)
+            {
+                regex.append('\\').append(c);
+            } else
+            {
+                regex.append(c);
+            }
+        }
+        return regex.append(')').toString();
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.artifacts;
+
+import java.util.HexFormat;
+import java.util.Objects;
+
+/**
+ * Digest a downloaded artifact must match.
+ *
+ * @param algorithm   {@link java.security.MessageDigest} algorithm name, e.g. {@code SHA-256}.
+ * @param expectedHex expected digest, hex encoded in any case.
+ */
+public record Checksum(String algorithm, String expectedHex)
+{
+    public Checksum
+    {
+        Objects.requireNonNull(algorithm, "algorithm");
+        HexFormat.of().parseHex(expectedHex.toLowerCase());
+    }
+
+    public static Checksum sha256(String expectedHex)
+    {
+        return new Checksum("SHA-256", expectedHex);
+    }
+
+    boolean matches(byte[] digest)
+    {
+        return HexFormat.of().formatHex(digest).equalsIgnoreCase(expectedHex);
+    }
+}
@@ -0,0 +1,396 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.builds;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.JenkinsPaths;
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.features.QueueApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Follows triggered builds through the queue until they finish, see {@link TrackedBuild}.
+ * <p>
+ * All tracked builds are polled from one background thread:
+ *  - queue items due for a poll are resolved together from one queue snapshot, see {@link QueueResolver},
+ *    with a growing interval, or right when their quiet period ends
+ *  - running builds of the same job share a single {@code jobInfo} request projected on their
+ *    recent builds, older builds fall back to their own {@code buildInfo}
+ *  - a running build is polled again after half of its estimated remaining time, bounded
+ *    by the minimum and maximum intervals, and with a growing interval once it is overdue
+ */
+public final class BuildTracker implements AutoCloseable
+{
+    private static final System.Logger LOGGER = System.getLogger(BuildTracker.class.getName());
+
+    private static final Projection<JobInfo> RECENT_BUILDS = Projection.of(JobInfo.class)
+        .fields("builds[number,building,result,timestamp,estimatedDuration]");
+    private static final Projection<BuildInfo> BUILD_STATE = Projection.of(BuildInfo.class)
+        .fields("number", "building", "result", "timestamp", "estimatedDuration");
+    private static final int MAX_CONSECUTIVE_ERRORS = 5;
+
+    private final JobsApi jobsApi;
+    private final QueueResolver queueResolver;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+    private final ScheduledExecutorService scheduler;
+    private final ScheduledFuture<?> ticker;
+    private final Queue<TrackedBuild> added = new ConcurrentLinkedQueue<>();
+    private volatile boolean closed;
+
+    // confined to the scheduler thread
+    private final List<TrackedBuild> waiting = new ArrayList<>();
+    private final Map<String, List<TrackedBuild>> running = new HashMap<>();
+
+    public BuildTracker(JenkinsApi api)
+    {
+        this(api.jobsApi(), api.queueApi(), Duration.ofMillis(500), Duration.ofSeconds(30));
+    }
+
+    /**
+     * @param minInterval shortest delay between two polls of a build, also the tick of the polling thread.
+     * @param maxInterval longest delay between two polls of a build.
+     */
+    public BuildTracker(JobsApi jobsApi, QueueApi queueApi, Duration minInterval, Duration maxInterval)
+    {
+        if (minInterval.isNegative() || minInterval.isZero() || maxInterval.compareTo(minInterval) < 0)
+        {
+            throw new IllegalArgumentException("Expected 0 < minInterval <= maxInterval");
+        }
+        this.jobsApi = jobsApi;
+        this.queueResolver = new QueueResolver(queueApi);
+        this.minIntervalMillis = minInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jenkins-build-tracker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker = scheduler.scheduleWithFixedDelay(this::tick, minIntervalMillis, minIntervalMillis, MILLISECONDS);
+    }
+
+    public TrackedBuild trigger(String folderPath, String jobName)
+    {
+        return trigger(folderPath, jobName, null);
+    }
+
+    /**
+     * Trigger a build and track it. When Jenkins refuses the build the returned stages are already failed.
+     *
+     * @param params build parameters, null to trigger without parameters.
+     */
+    public TrackedBuild trigger(String folderPath, String jobName, Map<String, List<String>> params)
+    {
+        ResponseResult<Long> queueId = params == null
+            ? jobsApi.build(folderPath, jobName)
+            : jobsApi.buildWithParameters(folderPath, jobName, params);
+        if (!queueId.isSuccess() || queueId.getEntity() == null)
+        {
+            TrackedBuild refused = new TrackedBuild(folderPath, jobName, -1);
+            refused.fail(new IllegalStateException("Could not trigger " + jobName + ": " + queueId.getError()));
+            return refused;
+        }
+        return track(folderPath, jobName, queueId.getEntity());
+    }
+
+    /**
+     * Track a build already in the queue, e.g. from the queue id returned by {@link JobsApi#build(String, String)}.
+     */
+    public TrackedBuild track(String folderPath, String jobName, long queueId)
+    {
+        if (closed)
+        {
+            throw new IllegalStateException("BuildTracker is closed");
+        }
+        TrackedBuild build = new TrackedBuild(folderPath, jobName, queueId);
+        build.intervalMillis = minIntervalMillis;
+        added.add(build);
+        if (closed)
+        {
+            // close() raced the check above, its cancelAll may already have drained added
+            added.remove(build);
+            build.fail(new CancellationException("BuildTracker was closed"));
+        }
+        return build;
+    }
+
+    /**
+     * Stop polling, the stages not reached yet fail with a {@link CancellationException}.
+     */
+    @Override
+    public void close()
+    {
+        closed = true;
+        ticker.cancel(false);
+        scheduler.execute(this::cancelAll);
+        scheduler.shutdown();
+    }
+
+    private void tick()
+    {
+        try
+        {
+            long now = System.currentTimeMillis();
+            for (TrackedBuild build = added.poll(); build != null; build = added.poll())
+            {
+                waiting.add(build);
+            }
+            pollQueue(now);
+            pollRunning(now);
+        } catch (RuntimeException e)
+        {
+            // an exception would cancel the periodic task, and with it every tracked build
+            LOGGER.log(Level.WARNING, "Build tracking tick failed", e);
+        }
+    }
+
+    private void pollQueue(long now)
+    {
+        waiting.removeIf(build -> build.completed().isDone());
+        List<TrackedBuild> due = waiting.stream().filter(build -> build.nextPollMillis <= now).toList();
+        if (due.isEmpty())
+        {
+            return;
+        }
+
+        Map<Long, ResponseResult<QueueItem>> resolved;
+        try
+        {
+            resolved = queueResolver.resolve(due.stream().map(TrackedBuild::queueId).collect(Collectors.toSet()));
+        } catch (RuntimeException e)
+        {
+            due.stream().filter(build -> failed(build, now, e)).forEach(waiting::remove);
+            return;
+        }
+
+        for (TrackedBuild build : due)
+        {
+            ResponseResult<QueueItem> result = resolved.get(build.queueId());
+            boolean leftQueue;
+            if (result.getStatus() == 404)
+            {
+                build.fail(new IllegalStateException("Queue item " + build.queueId() + " is no longer known to Jenkins"));
+                leftQueue = true;
+            } else if (!result.isSuccess() || result.getEntity() == null)
+            {
+                leftQueue = failed(build, now, new IllegalStateException(result.getError()));
+            } else
+            {
+                leftQueue = onQueueItem(build, result.getEntity(), now);
+            }
+            if (leftQueue)
+            {
+                waiting.remove(build);
+            }
+        }
+    }
+
+    /**
+     * @return true once the build left the queue.
+     */
+    private boolean onQueueItem(TrackedBuild build, QueueItem item, long now)
+    {
+        build.consecutiveErrors = 0;
+        build.queued().complete(item);
+        if (item.isCancelled())
+        {
+            build.fail(new CancellationException("Queue item " + build.queueId() + " was cancelled"));
+            return true;
+        }
+
+        if (item.getExecutable() != null && item.getExecutable().getNumber() != null)
+        {
+            build.buildNumber = item.getExecutable().getNumber();
+            build.started().complete(build.buildNumber);
+            build.intervalMillis = minIntervalMillis;
+            build.nextPollMillis = now;
+            running.computeIfAbsent(jobKey(build), key -> new ArrayList<>()).add(build);
+            return true;
+        }
+
+        // a waiting item tells when its quiet period is over
+        long buildableAt = item.getTimestamp() != null ? item.getTimestamp() : 0;
+        build.intervalMillis = backoff(build.intervalMillis);
+        build.nextPollMillis = buildableAt > now
+            ? Math.min(buildableAt, now + maxIntervalMillis)
+            : now + build.intervalMillis;
+        return false;
+    }
+
+    private void pollRunning(long now)
+    {
+        Iterator<List<TrackedBuild>> jobs = running.values().iterator();
+        while (jobs.hasNext())
+        {
+            List<TrackedBuild> builds = jobs.next();
+            builds.removeIf(build -> build.completed().isDone());
+            if (builds.isEmpty())
+            {
+                jobs.remove();
+            } else if (builds.stream().anyMatch(build -> build.nextPollMillis <= now))
+            {
+                pollJob(builds, now);
+            }
+        }
+    }
+
+    private void pollJob(List<TrackedBuild> builds, long now)
+    {
+        TrackedBuild first = builds.get(0);
+        Map<Integer, BuildInfo> recentBuilds = new HashMap<>();
+        try
+        {
+            ResponseResult<JobInfo> jobInfo = jobsApi.jobInfo(first.folderPath(), first.jobName(), RECENT_BUILDS);
+            if (jobInfo.isSuccess() && jobInfo.getEntity() != null)
+            {
+                jobInfo.getEntity().getBuilds().forEach(build -> recentBuilds.put(build.getNumber(), build));
+            }
+        } catch (RuntimeException e)
+        {
+            LOGGER.log(Level.DEBUG, "Could not list recent builds of " + first.jobName(), e);
+        }
+
+        Iterator<TrackedBuild> iterator = builds.iterator();
+        while (iterator.hasNext())
+        {
+            TrackedBuild build = iterator.next();
+            BuildInfo state = recentBuilds.get(build.buildNumber);
+            if (state == null && build.nextPollMillis > now)
+            {
+                continue;
+            }
+            try
+            {
+                if (state == null)
+                {
+                    ResponseResult<BuildInfo> single = jobsApi.buildInfo(build.folderPath(), build.jobName(),
+                        build.buildNumber, BUILD_STATE);
+                    if (!single.isSuccess() || single.getEntity() == null)
+                    {
+                        if (failed(build, now, new IllegalStateException(single.getError())))
+                        {
+                            iterator.remove();
+                        }
+                        continue;
+                    }
+                    state = single.getEntity();
+                }
+                if (onBuildState(build, state, now))
+                {
+                    iterator.remove();
+                }
+            } catch (RuntimeException e)
+            {
+                if (failed(build, now, e))
+                {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true once the build is over and its stages are completed.
+     */
+    private boolean onBuildState(TrackedBuild build, BuildInfo state, long now)
+    {
+        if (!state.isBuilding() && state.getResult() != null)
+        {
+            ResponseResult<BuildInfo> full = jobsApi.buildInfo(build.folderPath(), build.jobName(), build.buildNumber);
+            if (!full.isSuccess() || full.getEntity() == null)
+            {
+                return failed(build, now, new IllegalStateException(full.getError()));
+            }
+            build.completed().complete(full.getEntity());
+            return true;
+        }
+
+        build.consecutiveErrors = 0;
+        long remaining = state.getEstimatedDuration() > 0
+            ? state.getTimestamp() + state.getEstimatedDuration() - now
+            : -1;
+        build.intervalMillis = remaining > 0 ? clamp(remaining / 2) : backoff(build.intervalMillis);
+        build.nextPollMillis = now + build.intervalMillis;
+        return false;
+    }
+
+    /**
+     * @return true when the build gave up after too many consecutive errors.
+     */
+    private boolean failed(TrackedBuild build, long now, Exception cause)
+    {
+        build.consecutiveErrors++;
+        if (build.consecutiveErrors >= MAX_CONSECUTIVE_ERRORS)
+        {
+            build.fail(new IllegalStateException("Polling " + build + " failed " + MAX_CONSECUTIVE_ERRORS
+                + " times in a row", cause));
+            return true;
+        }
+        build.intervalMillis = backoff(build.intervalMillis);
+        build.nextPollMillis = now + build.intervalMillis;
+        return false;
+    }
+
+    private void cancelAll()
+    {
+        CancellationException closing = new CancellationException("BuildTracker was closed");
+        added.forEach(build -> build.fail(closing));
+        waiting.forEach(build -> build.fail(closing));
+        running.values().forEach(builds -> builds.forEach(build -> build.fail(closing)));
+        added.clear();
+        waiting.clear();
+        running.clear();
+    }
+
+    private long backoff(long intervalMillis)
+    {
+        return clamp(intervalMillis * 3 / 2);
+    }
+
+    private long clamp(long intervalMillis)
+    {
+        return Math.max(minIntervalMillis, Math.min(maxIntervalMillis, intervalMillis));
+    }
+
+    private static String jobKey(TrackedBuild build)
+    {
+        String folderPath = build.folderPath();
+        return (folderPath == null || folderPath.isEmpty() ? "" : JenkinsPaths.appendFolderPrefixIfNeeded(folderPath))
+            + "/job/" + build.jobName();
+    }
+}
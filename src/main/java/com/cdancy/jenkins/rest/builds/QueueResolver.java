@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.builds;
+
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.features.QueueApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resolves many queue ids with one {@code /queue/api/json} snapshot instead of one request per id.
+ * Ids still in the queue are answered from the snapshot. Only the ids that left it, because they
+ * started or were cancelled, need a {@link QueueApi#queueItem(long)} call of their own.
+ */
+public final class QueueResolver
+{
+    private static final Projection<QueueItem> SNAPSHOT = Projection.of(QueueItem.class)
+        .fields("id", "blocked", "buildable", "stuck", "why", "inQueueSince", "timestamp",
+            "buildableStartMilliseconds", "task[name,url]");
+
+    private final QueueApi queueApi;
+    private final LongAdder snapshotRequests = new LongAdder();
+    private final LongAdder itemRequests = new LongAdder();
+
+    public QueueResolver(QueueApi queueApi)
+    {
+        this.queueApi = queueApi;
+    }
+
+    /**
+     * @return the queue item, or the failed {@code queueItem} result, of every requested id.
+     * @throws IllegalStateException when the queue itself cannot be listed.
+     */
+    public Map<Long, ResponseResult<QueueItem>> resolve(Collection<Long> queueIds)
+    {
+        Map<Long, ResponseResult<QueueItem>> resolved = new HashMap<>();
+        if (queueIds.isEmpty())
+        {
+            return resolved;
+        }
+
+        snapshotRequests.increment();
+        ResponseResult<List<QueueItem>> snapshot = queueApi.queue(SNAPSHOT);
+        if (!snapshot.isSuccess() || snapshot.getEntity() == null)
+        {
+            throw new IllegalStateException("Could not list the queue (" + snapshot.getStatus() + "): " + snapshot.getError());
+        }
+        Map<Long, QueueItem> queued = new HashMap<>();
+        for (QueueItem item : snapshot.getEntity())
+        {
+            queued.put((long) item.getId(), item);
+        }
+
+        for (Long queueId : queueIds)
+        {
+            QueueItem item = queued.get(queueId);
+            if (item != null)
+            {
+                resolved.put(queueId, ResponseResult.ofEntity(item));
+            } else
+            {
+                itemRequests.increment();
+                resolved.put(queueId, queueApi.queueItem(queueId));
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * @return number of queue snapshots requested so far.
+     */
+    public long snapshotRequests()
+    {
+        return snapshotRequests.sum();
+    }
+
+    /**
+     * @return number of single queue items requested so far, for ids that were no longer queued.
+     */
+    public long itemRequests()
+    {
+        return itemRequests.sum();
+    }
+}
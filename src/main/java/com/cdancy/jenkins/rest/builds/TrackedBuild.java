@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.builds;
+
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One build followed by a {@link BuildTracker}, from its queue item to its result.
+ * Each stage is exposed as a future:
+ *  - {@link #queued()} the first queue item observed
+ *  - {@link #started()} the number of the build once an executor picked it up
+ *  - {@link #completed()} the full build info once it is no longer building
+ * A cancelled queue item, an expired queue item or repeated polling errors fail the stages not reached yet.
+ * Cancelling {@link #completed()} stops the tracking.
+ */
+public final class TrackedBuild
+{
+    private final String folderPath;
+    private final String jobName;
+    private final long queueId;
+
+    private final CompletableFuture<QueueItem> queued = new CompletableFuture<>();
+    private final CompletableFuture<Integer> started = new CompletableFuture<>();
+    private final CompletableFuture<BuildInfo> completed = new CompletableFuture<>();
+
+    // polling state, confined to the tracker thread
+    int buildNumber = -1;
+    long nextPollMillis;
+    long intervalMillis;
+    int consecutiveErrors;
+
+    TrackedBuild(String folderPath, String jobName, long queueId)
+    {
+        this.folderPath = folderPath;
+        this.jobName = jobName;
+        this.queueId = queueId;
+    }
+
+    public String folderPath()
+    {
+        return folderPath;
+    }
+
+    public String jobName()
+    {
+        return jobName;
+    }
+
+    public long queueId()
+    {
+        return queueId;
+    }
+
+    public CompletableFuture<QueueItem> queued()
+    {
+        return queued;
+    }
+
+    public CompletableFuture<Integer> started()
+    {
+        return started;
+    }
+
+    public CompletableFuture<BuildInfo> completed()
+    {
+        return completed;
+    }
+
+    void fail(Throwable cause)
+    {
+        queued.completeExceptionally(cause);
+        started.completeExceptionally(cause);
+        completed.completeExceptionally(cause);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "TrackedBuild{folderPath=" + folderPath + ", jobName=" + jobName + ", queueId=" + queueId
+            + ", buildNumber=" + buildNumber + "}";
+    }
+}
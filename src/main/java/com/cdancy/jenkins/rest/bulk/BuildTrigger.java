@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.features.StatisticsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.lang.System.Logger.Level;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Queues many builds without flooding the controller.
+ * <p>
+ * Submissions through {@link JobsApi#buildWithParameters} are paced at {@code maxPerSecond} while the build queue
+ * stays below {@code queuePerExecutor} items per available executor. Past that the rate drops in proportion to
+ * the excess, down to {@code minPerSecond}, and comes back as the queue drains. The load is sampled with
+ * {@link StatisticsApi#latestLoad} every {@code loadInterval}; a 429 or a 5xx answer halves the rate until the
+ * next sample. Failed submissions are reported, not retried, since queueing a build is not idempotent.
+ * <p>
+ * The pace and the in-flight bound belong to the instance, concurrent {@link #trigger} calls share them:
+ * share one instance per controller.
+ */
+public final class BuildTrigger
+{
+    private static final System.Logger LOGGER = System.getLogger(BuildTrigger.class.getName());
+    private static final String QUEUE_LENGTH = "queueLength";
+    private static final String AVAILABLE_EXECUTORS = "availableExecutors";
+    private static final List<String> LOAD_STATISTICS = List.of(QUEUE_LENGTH, AVAILABLE_EXECUTORS);
+
+    private final JobsApi jobsApi;
+    private final StatisticsApi statisticsApi;
+    private final double maxPerSecond;
+    private final double minPerSecond;
+    private final double queuePerExecutor;
+    private final long loadIntervalNanos;
+    private final RateLimiter rateLimiter;
+    private final Semaphore inFlight;
+    private long nextSampleNanos = System.nanoTime();
+
+    public BuildTrigger(JobsApi jobsApi, StatisticsApi statisticsApi)
+    {
+        this(jobsApi, statisticsApi, 16, 10, 0.5, 1, Duration.ofSeconds(10));
+    }
+
+    /**
+     * @param maxInFlight      submissions awaiting their response at once.
+     * @param maxPerSecond     submission rate while the queue is short.
+     * @param minPerSecond     submission rate however long the queue gets.
+     * @param queuePerExecutor queued items per available executor tolerated before slowing down.
+     * @param loadInterval     time between two load samples, Jenkins averages the load over ten seconds.
+     */
+    public BuildTrigger(JobsApi jobsApi, StatisticsApi statisticsApi, int maxInFlight, double maxPerSecond,
+                        double minPerSecond, double queuePerExecutor, Duration loadInterval)
+    {
+        if (maxInFlight <= 0 || !(minPerSecond > 0) || maxPerSecond < minPerSecond || !(queuePerExecutor > 0))
+        {
+            throw new IllegalArgumentException("Expected maxInFlight > 0, 0 < minPerSecond <= maxPerSecond and queuePerExecutor > 0");
+        }
+        this.jobsApi = jobsApi;
+        this.statisticsApi = statisticsApi;
+        this.maxPerSecond = maxPerSecond;
+        this.minPerSecond = minPerSecond;
+        this.queuePerExecutor = queuePerExecutor;
+        this.loadIntervalNanos = loadInterval.toNanos();
+        this.rateLimiter = new RateLimiter(maxPerSecond);
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Starts queueing the builds in the background.
+     *
+     * @return one outcome per request, in completion order; the stream blocks until the next one is known.
+     * Closing it stops the submissions, the requests left are then reported as not submitted.
+     */
+    public Stream<TriggerOutcome> trigger(List<BuildRequest> requests)
+    {
+        BlockingQueue<TriggerOutcome> outcomes = new LinkedBlockingQueue<>();
+        Thread submitter = Thread.ofVirtual().name("build-trigger").start(() -> submitAll(requests, outcomes));
+        return IntStream.range(0, requests.size())
+            .mapToObj(index -> take(outcomes))
+            .onClose(submitter::interrupt);
+    }
+
+    private static TriggerOutcome take(BlockingQueue<TriggerOutcome> outcomes)
+    {
+        try
+        {
+            return outcomes.take();
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for builds to be queued");
+        }
+    }
+
+    private void submitAll(List<BuildRequest> requests, BlockingQueue<TriggerOutcome> outcomes)
+    {
+        int submitted = 0;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (BuildRequest request : requests)
+            {
+                sampleLoadIfDue();
+                rateLimiter.acquire();
+                inFlight.acquire();
+                submitted++;
+                executor.execute(() ->
+                {
+                    // the stream expects one outcome per request, whatever happens to the submission
+                    TriggerOutcome outcome = new TriggerOutcome(request, null, 0, "Not submitted");
+                    try
+                    {
+                        outcome = submit(request);
+                    } finally
+                    {
+                        outcomes.add(outcome);
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        } finally
+        {
+            for (BuildRequest request : requests.subList(submitted, requests.size()))
+            {
+                outcomes.add(new TriggerOutcome(request, null, 0, "Not submitted"));
+            }
+        }
+    }
+
+    private TriggerOutcome submit(BuildRequest request)
+    {
+        try
+        {
+            int slash = request.path().lastIndexOf('/');
+            String folderPath = slash < 0 ? null : request.path().substring(0, slash);
+            String jobName = request.path().substring(slash + 1);
+            ResponseResult<Long> result = jobsApi.buildWithParameters(folderPath, jobName, request.parameters());
+            if (result.isSuccess() && result.getEntity() != null)
+            {
+                return new TriggerOutcome(request, result.getEntity(), result.getStatus(), null);
+            }
+            if (result.getStatus() == 429 || result.getStatus() >= 500)
+            {
+                synchronized (rateLimiter)
+                {
+                    rateLimiter.rate(Math.max(minPerSecond, rateLimiter.rate() / 2));
+                }
+            }
+            return new TriggerOutcome(request, null, result.getStatus(), result.getError());
+        } catch (RuntimeException e)
+        {
+            return new TriggerOutcome(request, null, 0, e.getMessage());
+        }
+    }
+
+    // one sample per interval across all the trigger calls
+    private synchronized void sampleLoadIfDue()
+    {
+        long now = System.nanoTime();
+        if (now - nextSampleNanos >= 0)
+        {
+            rateLimiter.rate(sampleRate(rateLimiter.rate()));
+            nextSampleNanos = System.nanoTime() + loadIntervalNanos;
+        }
+    }
+
+    /**
+     * @return the rate for the current load, {@code current} when the load cannot be read.
+     */
+    private double sampleRate(double current)
+    {
+        ResponseResult<Map<String, Double>> load;
+        try
+        {
+            load = statisticsApi.latestLoad(LOAD_STATISTICS);
+        } catch (RuntimeException e)
+        {
+            LOGGER.log(Level.DEBUG, "Could not sample the load, keeping {0} builds/s: {1}", current, e.getMessage());
+            return current;
+        }
+        if (!load.isSuccess() || !load.getEntity().containsKey(QUEUE_LENGTH))
+        {
+            return current;
+        }
+        double queued = load.getEntity().get(QUEUE_LENGTH);
+        double executors = Math.max(1, load.getEntity().getOrDefault(AVAILABLE_EXECUTORS, 0.0));
+        double pressure = queued / executors;
+        double rate = pressure <= queuePerExecutor ? maxPerSecond : maxPerSecond * queuePerExecutor / pressure;
+        return Math.max(minPerSecond, rate);
+    }
+}
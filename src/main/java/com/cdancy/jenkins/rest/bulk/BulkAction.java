@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.function.UnaryOperator;
+
+/**
+ * One call applied by {@link BulkOperations} to each selected job.
+ */
+@FunctionalInterface
+public interface BulkAction
+{
+    ResponseResult<?> apply(JobsApi jobsApi, String folderPath, String jobName);
+
+    /**
+     * @return true when applying the action twice has the same effect as once, only those are retried.
+     */
+    default boolean idempotent()
+    {
+        return false;
+    }
+
+    static BulkAction enable()
+    {
+        return of("enable", true, JobsApi::enable);
+    }
+
+    static BulkAction disable()
+    {
+        return of("disable", true, JobsApi::disable);
+    }
+
+    static BulkAction delete()
+    {
+        return of("delete", false, JobsApi::delete);
+    }
+
+    /**
+     * @param newName computes the new name from the current one.
+     */
+    static BulkAction rename(UnaryOperator<String> newName)
+    {
+        return of("rename", false, (jobsApi, folderPath, jobName) -> jobsApi.rename(folderPath, jobName, newName.apply(jobName)));
+    }
+
+    static BulkAction description(String description)
+    {
+        return of("description", true, (jobsApi, folderPath, jobName) -> jobsApi.description(folderPath, jobName, description));
+    }
+
+    private static BulkAction of(String name, boolean idempotent, BulkAction call)
+    {
+        return new BulkAction()
+        {
+            @Override
+            public ResponseResult<?> apply(JobsApi jobsApi, String folderPath, String jobName)
+            {
+                return call.apply(jobsApi, folderPath, jobName);
+            }
+
+            @Override
+            public boolean idempotent()
+            {
+                return idempotent;
+            }
+
+            @Override
+            public String toString()
+            {
+                return name;
+            }
+        };
+    }
+}
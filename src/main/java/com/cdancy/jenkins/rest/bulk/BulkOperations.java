@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import jakarta.ws.rs.ProcessingException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a {@link BulkAction} to every job of a {@link JobSelector} and reports the outcome of each one,
+ * a failing job never stops the others.
+ * <p>
+ * Calls run on virtual threads, at most {@code parallelism} at once and no more than {@code permitsPerSecond}
+ * started per second, which is meant per controller: share one instance for all the operations against it.
+ * Idempotent actions are retried with exponential backoff after a 429, a 5xx or a connection failure.
+ */
+public final class BulkOperations
+{
+    private static final long INITIAL_BACKOFF_MILLIS = 250;
+
+    private final JobsApi jobsApi;
+    private final int parallelism;
+    private final int maxRetries;
+    private final RateLimiter rateLimiter;
+
+    public BulkOperations(JobsApi jobsApi)
+    {
+        this(jobsApi, 8, 20, 3);
+    }
+
+    /**
+     * @param parallelism      maximum number of calls in flight.
+     * @param permitsPerSecond maximum number of calls started per second, retries included.
+     * @param maxRetries       additional attempts for idempotent actions.
+     */
+    public BulkOperations(JobsApi jobsApi, int parallelism, double permitsPerSecond, int maxRetries)
+    {
+        if (parallelism <= 0 || maxRetries < 0)
+        {
+            throw new IllegalArgumentException("Expected parallelism > 0 and maxRetries >= 0");
+        }
+        this.jobsApi = jobsApi;
+        this.parallelism = parallelism;
+        this.maxRetries = maxRetries;
+        this.rateLimiter = new RateLimiter(permitsPerSecond);
+    }
+
+    JobsApi jobsApi()
+    {
+        return jobsApi;
+    }
+
+    /**
+     * @throws IOException when the selection itself cannot be resolved, no job is touched then.
+     */
+    public BulkReport run(JobSelector selector, BulkAction action) throws IOException, InterruptedException
+    {
+        return run(selector.select(jobsApi), action);
+    }
+
+    public BulkReport run(List<String> paths, BulkAction action) throws InterruptedException
+    {
+        BulkOutcome[] outcomes = new BulkOutcome[paths.size()];
+        Semaphore permits = new Semaphore(parallelism);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int index = 0; index < paths.size(); index++)
+            {
+                int slot = index;
+                String path = paths.get(index);
+                permits.acquire();
+                executor.execute(() ->
+                {
+                    try
+                    {
+                        outcomes[slot] = apply(path, action);
+                    } finally
+                    {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        return new BulkReport(action.toString(), Arrays.asList(outcomes));
+    }
+
+    private BulkOutcome apply(String path, BulkAction action)
+    {
+        int slash = path.lastIndexOf('/');
+        String folderPath = slash < 0 ? null : path.substring(0, slash);
+        String jobName = path.substring(slash + 1);
+
+        int attempts = 0;
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (true)
+        {
+            int status = 0;
+            String error;
+            try
+            {
+                rateLimiter.acquire();
+                attempts++;
+                ResponseResult<?> result = action.apply(jobsApi, folderPath, jobName);
+                if (result.isSuccess())
+                {
+                    return new BulkOutcome(path, true, result.getStatus(), attempts, null);
+                }
+                status = result.getStatus();
+                error = result.getError();
+            } catch (ProcessingException e)
+            {
+                error = e.getMessage();
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return new BulkOutcome(path, false, status, attempts, "Interrupted");
+            } catch (RuntimeException e)
+            {
+                return new BulkOutcome(path, false, status, attempts, e.toString());
+            }
+
+            boolean retryable = status == 0 || status == 429 || status >= 500;
+            if (!action.idempotent() || !retryable || attempts > maxRetries)
+            {
+                return new BulkOutcome(path, false, status, attempts, error);
+            }
+            try
+            {
+                TimeUnit.MILLISECONDS.sleep(backoff);
+            } catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return new BulkOutcome(path, false, status, attempts, error);
+            }
+            backoff *= 2;
+        }
+    }
+}
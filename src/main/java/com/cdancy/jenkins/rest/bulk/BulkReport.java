@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import java.util.List;
+
+/**
+ * Per job outcomes of a bulk operation, in selection order.
+ */
+public record BulkReport(String action, List<BulkOutcome> outcomes)
+{
+    public BulkReport
+    {
+        outcomes = List.copyOf(outcomes);
+    }
+
+    public long succeeded()
+    {
+        return outcomes.stream().filter(BulkOutcome::success).count();
+    }
+
+    public List<BulkOutcome> failures()
+    {
+        return outcomes.stream().filter(outcome -> !outcome.success()).toList();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BulkReport{action=" + action + ", jobs=" + outcomes.size() + ", succeeded=" + succeeded()
+            + ", failed=" + (outcomes.size() - succeeded()) + "}";
+    }
+}
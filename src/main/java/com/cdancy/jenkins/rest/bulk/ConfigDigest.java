@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.StringReader;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Hash of a config.xml that ignores what Jenkins does not care about: the XML declaration, comments,
+ * whitespace between elements, attribute order and line endings. Computed in one StAX pass, without a DOM.
+ */
+final class ConfigDigest
+{
+    private static final XMLInputFactory XML = newFactory();
+
+    private ConfigDigest()
+    {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the document is not well formed.
+     */
+    static String sha256(String xml)
+    {
+        MessageDigest digest;
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+
+        try
+        {
+            XMLStreamReader reader = XML.createXMLStreamReader(new StringReader(xml));
+            try
+            {
+                // text since the last tag, and whether that tag opened an element with no children so far
+                StringBuilder text = new StringBuilder();
+                boolean leaf = false;
+                while (reader.hasNext())
+                {
+                    switch (reader.next())
+                    {
+                        case XMLStreamConstants.START_ELEMENT ->
+                        {
+                            updateText(digest, text, false);
+                            update(digest, "<" + reader.getName());
+                            Map<String, String> attributes = new TreeMap<>();
+                            for (int index = 0; index < reader.getAttributeCount(); index++)
+                            {
+                                attributes.put(reader.getAttributeName(index).toString(), reader.getAttributeValue(index));
+                            }
+                            attributes.forEach((name, value) -> update(digest, " " + name + "=\"" + escape(value, true) + "\""));
+                            update(digest, ">");
+                            leaf = true;
+                        }
+                        case XMLStreamConstants.END_ELEMENT ->
+                        {
+                            updateText(digest, text, leaf);
+                            update(digest, "</" + reader.getName() + ">");
+                            leaf = false;
+                        }
+                        case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA, XMLStreamConstants.SPACE ->
+                            text.append(reader.getText());
+                        default ->
+                        {
+                            // declaration, comments, processing instructions
+                        }
+                    }
+                }
+            } finally
+            {
+                reader.close();
+            }
+        } catch (XMLStreamException e)
+        {
+            throw new IllegalArgumentException("Malformed config.xml: " + e.getMessage(), e);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Hashes the pending text escaped, so that it cannot pass for markup. Whitespace only text is indentation
+     * between elements and skipped, unless it is the whole content of a leaf element, which Jenkins keeps.
+     */
+    private static void updateText(MessageDigest digest, StringBuilder text, boolean leaf)
+    {
+        if (leaf || !isWhiteSpace(text))
+        {
+            update(digest, escape(text.toString().replace("\r\n", "\n"), false));
+        }
+        text.setLength(0);
+    }
+
+    private static boolean isWhiteSpace(CharSequence text)
+    {
+        return text.chars().allMatch(c -> c == ' ' || c == '\t' || c == '\n' || c == '\r');
+    }
+
+    private static String escape(String value, boolean attribute)
+    {
+        String escaped = value.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+        return attribute ? escaped.replace("\"", "&quot;") : escaped;
+    }
+
+    private static void update(MessageDigest digest, String text)
+    {
+        digest.update(text.getBytes(UTF_8));
+    }
+
+    private static XMLInputFactory newFactory()
+    {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+}
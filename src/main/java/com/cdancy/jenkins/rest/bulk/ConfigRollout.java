@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Pushes a config.xml to many jobs, writing only those whose current config differs.
+ * <p>
+ * Each job costs a GET of its config.xml; both versions are compared through {@link ConfigDigest}, which
+ * ignores formatting, and the POST only happens when they differ. Jobs go through {@link BulkOperations}
+ * (parallelism, rate limit and retries apply to each read-compare-write) in a canary batch first, then in
+ * waves. The rollout halts after the canary when any of it failed, and after a wave when the failures so far
+ * exceed {@code maxFailures}.
+ */
+public final class ConfigRollout
+{
+    private final BulkOperations operations;
+    private final int canarySize;
+    private final int waveSize;
+    private final int maxFailures;
+
+    public ConfigRollout(JobsApi jobsApi)
+    {
+        this(new BulkOperations(jobsApi), 1, 100, 0);
+    }
+
+    /**
+     * @param canarySize  jobs rolled out first, on their own.
+     * @param waveSize    jobs per following wave.
+     * @param maxFailures failed jobs tolerated past the canary before halting.
+     */
+    public ConfigRollout(BulkOperations operations, int canarySize, int waveSize, int maxFailures)
+    {
+        if (canarySize < 0 || waveSize <= 0 || maxFailures < 0)
+        {
+            throw new IllegalArgumentException("Expected canarySize >= 0, waveSize > 0 and maxFailures >= 0");
+        }
+        this.operations = operations;
+        this.canarySize = canarySize;
+        this.waveSize = waveSize;
+        this.maxFailures = maxFailures;
+    }
+
+    /**
+     * Rolls the same config.xml out to every selected job.
+     */
+    public RolloutReport rollout(JobSelector selector, String configXml) throws IOException, InterruptedException
+    {
+        String desiredHash = ConfigDigest.sha256(configXml);
+        return rollout(selector.select(operations.jobsApi()), (path, current) -> configXml, desiredHash);
+    }
+
+    /**
+     * @param desiredConfig computes the config.xml of a job from its path and current config.xml,
+     *                      e.g. by re-rendering a template with the job's own values.
+     */
+    public RolloutReport rollout(List<String> paths, BiFunction<String, String, String> desiredConfig)
+        throws InterruptedException
+    {
+        return rollout(paths, desiredConfig, null);
+    }
+
+    private RolloutReport rollout(List<String> paths, BiFunction<String, String, String> desiredConfig, String fixedHash)
+        throws InterruptedException
+    {
+        Set<String> updated = ConcurrentHashMap.newKeySet();
+        BulkAction action = new BulkAction()
+        {
+            @Override
+            public ResponseResult<?> apply(JobsApi jobsApi, String folderPath, String jobName)
+            {
+                ResponseResult<String> current = jobsApi.config(folderPath, jobName);
+                if (!current.isSuccess() || current.getEntity() == null)
+                {
+                    return current;
+                }
+                String path = folderPath == null ? jobName : folderPath + "/" + jobName;
+                String desired = desiredConfig.apply(path, current.getEntity());
+                String desiredHash = fixedHash != null ? fixedHash : ConfigDigest.sha256(desired);
+                if (desiredHash.equals(ConfigDigest.sha256(current.getEntity())))
+                {
+                    return current;
+                }
+                ResponseResult<Void> written = jobsApi.config(folderPath, jobName, desired);
+                if (written.isSuccess())
+                {
+                    updated.add(path);
+                }
+                return written;
+            }
+
+            @Override
+            public boolean idempotent()
+            {
+                return true;
+            }
+
+            @Override
+            public String toString()
+            {
+                return "config";
+            }
+        };
+
+        List<BulkOutcome> outcomes = new ArrayList<>(paths.size());
+        int failures = 0;
+        int next = 0;
+        boolean halted = false;
+        while (next < paths.size() && !halted)
+        {
+            boolean canary = next == 0 && canarySize > 0;
+            int end = Math.min(paths.size(), next + (canary ? canarySize : waveSize));
+            BulkReport batch = operations.run(paths.subList(next, end), action);
+            outcomes.addAll(batch.outcomes());
+            failures += batch.failures().size();
+            next = end;
+            halted = canary ? !batch.failures().isEmpty() : failures > maxFailures;
+        }
+        return new RolloutReport(outcomes, updated, paths.subList(next, paths.size()), halted);
+    }
+}
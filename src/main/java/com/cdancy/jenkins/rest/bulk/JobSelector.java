@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import com.cdancy.jenkins.rest.JenkinsPaths;
+import com.cdancy.jenkins.rest.artifacts.ArtifactGlob;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.inventory.JobTreeCrawler;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The jobs a bulk operation applies to, as full paths such as {@code team/service/build}.
+ */
+@FunctionalInterface
+public interface JobSelector
+{
+    List<String> select(JobsApi jobsApi) throws IOException, InterruptedException;
+
+    static JobSelector of(Collection<String> paths)
+    {
+        List<String> copy = List.copyOf(paths);
+        return jobsApi -> copy;
+    }
+
+    /**
+     * Jobs below {@code rootFolder} whose path relative to it matches an Ant style glob,
+     * e.g. {@code legacy/**} or {@code *}{@code /nightly-*}. Folders themselves are never selected.
+     *
+     * @param rootFolder folder to crawl, null or empty for the whole instance.
+     */
+    static JobSelector glob(String rootFolder, String glob)
+    {
+        ArtifactGlob matcher = ArtifactGlob.compile(glob);
+        return jobsApi ->
+        {
+            String root = JenkinsPaths.displayPath(rootFolder);
+            List<String> selected = new ArrayList<>();
+            new JobTreeCrawler(jobsApi).crawl(root, (path, job) ->
+            {
+                String relative = root.isEmpty() ? path : path.substring(root.length() + 1);
+                if (job.color() != null && matcher.matches(relative))
+                {
+                    selected.add(path);
+                }
+            });
+            return selected;
+        };
+    }
+}
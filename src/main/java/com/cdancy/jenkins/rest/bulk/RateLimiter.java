@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces calls evenly, at most {@code permitsPerSecond} of them start in any second.
+ * The rate can be changed while calls wait, it applies from the next slot handed out.
+ */
+final class RateLimiter
+{
+    private double permitsPerSecond;
+    private long intervalNanos;
+    private long nextFreeNanos = System.nanoTime();
+
+    RateLimiter(double permitsPerSecond)
+    {
+        rate(permitsPerSecond);
+    }
+
+    synchronized double rate()
+    {
+        return permitsPerSecond;
+    }
+
+    synchronized void rate(double permitsPerSecond)
+    {
+        if (!(permitsPerSecond > 0))
+        {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    void acquire() throws InterruptedException
+    {
+        long wait;
+        synchronized (this)
+        {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextFreeNanos);
+            nextFreeNanos = slot + intervalNanos;
+            wait = slot - now;
+        }
+        if (wait > 0)
+        {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Outcome of a {@link ConfigRollout}.
+ *
+ * @param outcomes    per job outcome of the jobs attempted, canary first, in schedule order.
+ * @param updated     jobs whose config.xml was actually written.
+ * @param notAttempted jobs left untouched because the rollout halted.
+ * @param halted      whether a canary or a wave failed beyond the allowed failures.
+ */
+public record RolloutReport(List<BulkOutcome> outcomes, Set<String> updated, List<String> notAttempted, boolean halted)
+{
+    public RolloutReport
+    {
+        outcomes = List.copyOf(outcomes);
+        updated = Set.copyOf(updated);
+        notAttempted = List.copyOf(notAttempted);
+    }
+
+    /**
+     * @return jobs that already had the desired config, no write was issued for them.
+     */
+    public long unchanged()
+    {
+        return outcomes.stream().filter(outcome -> outcome.success() && !updated.contains(outcome.path())).count();
+    }
+
+    public List<BulkOutcome> failures()
+    {
+        return outcomes.stream().filter(outcome -> !outcome.success()).toList();
+    }
+
+    @Override
+    public String toString()
+    {
+        return "RolloutReport{attempted=" + outcomes.size() + ", updated=" + updated.size() + ", unchanged=" + unchanged()
+            + ", failed=" + failures().size() + ", notAttempted=" + notAttempted.size() + ", halted=" + halted + "}";
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+/**
+ * Result of queueing one build.
+ *
+ * @param request the build asked for.
+ * @param queueId id of the queue item, null when the build was not queued.
+ * @param status  HTTP status of the submission, 0 when no response was received.
+ * @param error   response body or exception message when the build was not queued.
+ */
+public record TriggerOutcome(BuildRequest request, Long queueId, int status, String error)
+{
+    public boolean success()
+    {
+        return queueId != null;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.job.PipelineNodeLog;
+import com.cdancy.jenkins.rest.domain.job.Workflow;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Set;
+
+/**
+ * Decorates a {@link JobsApi} so that {@code buildInfo}, {@code workflow} and {@code pipelineNodeLog}
+ * of finished builds are answered from a {@link CompletedBuildCache}.
+ * Data of running builds is never cached, every other method goes straight to the delegate.
+ * A successful {@code delete} or {@code rename} drops the entries of the job, and of the new name, since a job
+ * created under a name numbers its builds from 1 again.
+ */
+public final class CachingJobsApi implements InvocationHandler
+{
+    // wfapi statuses after which a run or one of its nodes cannot change anymore
+    private static final Set<String> FINISHED_STATUSES = Set.of("SUCCESS", "FAILED", "UNSTABLE", "ABORTED", "NOT_EXECUTED");
+
+    private static final Method BUILD_INFO = method("buildInfo", String.class, String.class, int.class);
+    private static final Method WORKFLOW = method("workflow", String.class, String.class, int.class);
+    private static final Method PIPELINE_NODE_LOG = method("pipelineNodeLog", String.class, String.class, int.class, int.class);
+    private static final Method DELETE = method("delete", String.class, String.class);
+    private static final Method RENAME = method("rename", String.class, String.class, String.class);
+
+    private final JobsApi delegate;
+    private final CompletedBuildCache cache;
+
+    private CachingJobsApi(JobsApi delegate, CompletedBuildCache cache)
+    {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    public static JobsApi of(JobsApi delegate, CompletedBuildCache cache)
+    {
+        return (JobsApi) Proxy.newProxyInstance(JobsApi.class.getClassLoader(), new Class<?>[]{JobsApi.class},
+            new CachingJobsApi(delegate, cache));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        if (method.equals(BUILD_INFO))
+        {
+            return cached(CompletedBuildKey.of((String) args[0], (String) args[1], (int) args[2], "buildInfo"),
+                BuildInfo.class, method, args);
+        } else if (method.equals(WORKFLOW))
+        {
+            return cached(CompletedBuildKey.of((String) args[0], (String) args[1], (int) args[2], "workflow"),
+                Workflow.class, method, args);
+        } else if (method.equals(PIPELINE_NODE_LOG))
+        {
+            return cached(CompletedBuildKey.of((String) args[0], (String) args[1], (int) args[2], "pipelineNodeLog/" + args[3]),
+                PipelineNodeLog.class, method, args);
+        } else if (method.equals(DELETE) || method.equals(RENAME))
+        {
+            Object result = forward(method, args);
+            if (result instanceof ResponseResult<?> response && response.isSuccess())
+            {
+                cache.invalidateJob((String) args[0], (String) args[1]);
+                if (method.equals(RENAME))
+                {
+                    // whatever was cached under the new name belonged to an earlier job
+                    cache.invalidateJob((String) args[0], (String) args[2]);
+                }
+            }
+            return result;
+        } else if (method.getDeclaringClass() == Object.class)
+        {
+            return switch (method.getName())
+            {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "CachingJobsApi[" + delegate + "]";
+            };
+        }
+        return forward(method, args);
+    }
+
+    private <T> ResponseResult<T> cached(CompletedBuildKey key, Class<T> type, Method method, Object[] args) throws Throwable
+    {
+        T hit = cache.get(key, type);
+        if (hit != null)
+        {
+            return ResponseResult.ofEntity(hit);
+        }
+
+        @SuppressWarnings("unchecked")
+        ResponseResult<T> result = (ResponseResult<T>) forward(method, args);
+        if (result.isSuccess() && result.getEntity() != null && isFinished(result.getEntity()))
+        {
+            cache.put(key, type, result.getEntity());
+        }
+        return result;
+    }
+
+    private Object forward(Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    static boolean isFinished(Object entity)
+    {
+        if (entity instanceof BuildInfo buildInfo)
+        {
+            return !buildInfo.isBuilding() && buildInfo.getResult() != null;
+        } else if (entity instanceof Workflow workflow)
+        {
+            return FINISHED_STATUSES.contains(workflow.getStatus());
+        } else if (entity instanceof PipelineNodeLog log)
+        {
+            return !log.isHasMore() && FINISHED_STATUSES.contains(log.getNodeStatus());
+        }
+        return false;
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes)
+    {
+        try
+        {
+            return JobsApi.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+/**
+ * Store for data of builds that are no longer running and therefore never change again,
+ * see {@link com.cdancy.jenkins.rest.JenkinsApi.Builder#completedBuildCache(CompletedBuildCache)}.
+ * Implementations must be thread safe.
+ */
+public interface CompletedBuildCache
+{
+    /**
+     * @return the cached value, or null when absent or not of the requested type.
+     */
+    <T> T get(CompletedBuildKey key, Class<T> type);
+
+    <T> void put(CompletedBuildKey key, Class<T> type, T value);
+
+    void invalidate(CompletedBuildKey key);
+
+    /**
+     * Drops every entry of one job and, when it is a folder, of every job nested in it: their build numbers
+     * start over once it is deleted or renamed and a job is created under its name again.
+     * The default clears the whole cache.
+     */
+    default void invalidateJob(String folderPath, String jobName)
+    {
+        clear();
+    }
+
+    void clear();
+}
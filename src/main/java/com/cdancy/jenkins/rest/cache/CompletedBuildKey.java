@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+import com.cdancy.jenkins.rest.JenkinsPaths;
+import java.util.Objects;
+
+/**
+ * Identity of one piece of data of a finished build.
+ * The folder path is normalized with {@link JenkinsPaths#appendFolderPrefixIfNeeded(String)},
+ * so {@code a/b}, {@code /a/b/} and {@code job/a/job/b} address the same build.
+ *
+ * @param folderPath  folder in Jenkins URL form, empty for root jobs.
+ * @param jobName     name of the job.
+ * @param buildNumber number of the build.
+ * @param resource    which data of the build, e.g. {@code buildInfo} or {@code pipelineNodeLog/12}.
+ */
+public record CompletedBuildKey(String folderPath, String jobName, int buildNumber, String resource)
+{
+    public CompletedBuildKey
+    {
+        Objects.requireNonNull(folderPath, "folderPath");
+        Objects.requireNonNull(jobName, "jobName");
+        Objects.requireNonNull(resource, "resource");
+    }
+
+    public static CompletedBuildKey of(String folderPath, String jobName, int buildNumber, String resource)
+    {
+        String normalizedFolder = (folderPath == null || folderPath.isEmpty() || folderPath.equals("/"))
+            ? ""
+            : JenkinsPaths.appendFolderPrefixIfNeeded(folderPath);
+        return new CompletedBuildKey(normalizedFolder, jobName, buildNumber, resource);
+    }
+
+    /**
+     * @return the Jenkins URL path of the job, e.g. {@code job/a/job/b}.
+     */
+    public String jobPath()
+    {
+        return (folderPath.isEmpty() ? "" : folderPath + "/") + "job/" + jobName;
+    }
+
+    @Override
+    public String toString()
+    {
+        return jobPath() + "/" + buildNumber + "/" + resource;
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded, least recently used store of GET responses carrying an {@code ETag} or
+ * {@code Last-Modified} validator, shared by
+ * {@link com.cdancy.jenkins.rest.filters.JenkinsConditionalRequestFilter} and
+ * {@link com.cdancy.jenkins.rest.filters.JenkinsConditionalResponseFilter}.
+ * <p>
+ * Besides the raw body every entry remembers the entity it was last deserialized to,
+ * so a {@code 304 Not Modified} costs neither a transfer nor a parse. Only bodies read as a
+ * deserialized entity are stored, and Jenkins {@code api/json} responses carry no validator at all.
+ */
+public final class ConditionalResponseCache
+{
+    private final long maxSizeBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long sizeBytes;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * @param maxSizeBytes upper bound of the summed body sizes, least recently used entries are evicted beyond it.
+     */
+    public ConditionalResponseCache(long maxSizeBytes)
+    {
+        if (maxSizeBytes <= 0)
+        {
+            throw new IllegalArgumentException("maxSizeBytes must be positive");
+        }
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * @return largest body worth caching, larger ones would evict most of the cache at once.
+     */
+    public long maxEntrySizeBytes()
+    {
+        return Math.max(1, maxSizeBytes / 4);
+    }
+
+    public synchronized Entry get(String key)
+    {
+        return entries.get(key);
+    }
+
+    public synchronized void put(Entry entry)
+    {
+        if (entry.body.length > maxEntrySizeBytes())
+        {
+            return;
+        }
+        Entry previous = entries.put(entry.key, entry);
+        if (previous != null)
+        {
+            sizeBytes -= previous.body.length;
+        }
+        sizeBytes += entry.body.length;
+
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (sizeBytes > maxSizeBytes && eldest.hasNext())
+        {
+            sizeBytes -= eldest.next().body.length;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void remove(String key)
+    {
+        Entry removed = entries.remove(key);
+        if (removed != null)
+        {
+            sizeBytes -= removed.body.length;
+        }
+    }
+
+    public synchronized void clear()
+    {
+        entries.clear();
+        sizeBytes = 0;
+    }
+
+    public void recordHit()
+    {
+        hits.increment();
+    }
+
+    public void recordMiss()
+    {
+        misses.increment();
+    }
+
+    public synchronized ResponseCacheStats stats()
+    {
+        return new ResponseCacheStats(hits.sum(), misses.sum(), entries.size(), sizeBytes, maxSizeBytes);
+    }
+
+    /**
+     * Validators and body of one cached response.
+     */
+    public static final class Entry
+    {
+        private final String key;
+        private final String etag;
+        private final String lastModified;
+        private final String contentType;
+        private final byte[] body;
+
+        // last deserialized form of body, domain objects are immutable so it is safe to share
+        private Class<?> entityType;
+        private Object entity;
+
+        public Entry(String key, String etag, String lastModified, String contentType, byte[] body)
+        {
+            this.key = key;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+            this.body = body;
+        }
+
+        public String key()
+        {
+            return key;
+        }
+
+        public String etag()
+        {
+            return etag;
+        }
+
+        public String lastModified()
+        {
+            return lastModified;
+        }
+
+        public String contentType()
+        {
+            return contentType;
+        }
+
+        public byte[] body()
+        {
+            return body;
+        }
+
+        /**
+         * @return the entity previously deserialized from this body as {@code type}, or null.
+         */
+        public synchronized Object entity(Class<?> type)
+        {
+            return type.equals(entityType) ? entity : null;
+        }
+
+        public synchronized void entity(Class<?> type, Object value)
+        {
+            this.entityType = type;
+            this.entity = value;
+        }
+    }
+}
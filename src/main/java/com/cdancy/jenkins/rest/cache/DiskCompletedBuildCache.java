@@ -0,0 +1,291 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.System.Logger.Level;
+import java.nio.file.DirectoryNotEmptyException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * {@link CompletedBuildCache} persisting every value as a JSON file in one directory,
+ * so finished builds survive restarts of the client.
+ * Files are named after a hash of their key and live in one directory per folder level, named after a hash
+ * of the job name, so that the entries of a job and of every job nested in it can be dropped together.
+ * Reads refresh the modification time and the
+ * least recently used files are deleted once the directory exceeds its size bound.
+ * Unreadable files are treated as misses and removed.
+ */
+public final class DiskCompletedBuildCache implements CompletedBuildCache
+{
+    private static final System.Logger LOGGER = System.getLogger(DiskCompletedBuildCache.class.getName());
+    private static final String SUFFIX = ".json";
+    private static final int JOB_HASH_LENGTH = 16;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final AtomicLong sizeBytes = new AtomicLong();
+
+    /**
+     * @param directory    created if missing, should not be shared with anything else.
+     * @param maxSizeBytes upper bound of the summed file sizes.
+     */
+    public DiskCompletedBuildCache(Path directory, long maxSizeBytes)
+    {
+        if (maxSizeBytes <= 0)
+        {
+            throw new IllegalArgumentException("maxSizeBytes must be positive");
+        }
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+        try
+        {
+            Files.createDirectories(directory);
+            for (Path file : cacheFiles())
+            {
+                sizeBytes.addAndGet(sizeOf(file));
+            }
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public <T> T get(CompletedBuildKey key, Class<T> type)
+    {
+        Path file = fileOf(key);
+        try
+        {
+            T value = mapper.readValue(file.toFile(), type);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return value;
+        } catch (NoSuchFileException e)
+        {
+            return null;
+        } catch (IOException e)
+        {
+            if (Files.exists(file))
+            {
+                LOGGER.log(Level.DEBUG, "Dropping unreadable cache file " + file, e);
+                invalidate(key);
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public <T> void put(CompletedBuildKey key, Class<T> type, T value)
+    {
+        Path file = fileOf(key);
+        try
+        {
+            byte[] json = mapper.writeValueAsBytes(value);
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(directory, "put", ".tmp");
+            long previous = sizeOf(file);
+            try
+            {
+                Files.write(temp, json);
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally
+            {
+                // left behind when the write or the move fails, e.g. after a concurrent invalidateJob
+                Files.deleteIfExists(temp);
+            }
+            if (sizeBytes.addAndGet(json.length - previous) > maxSizeBytes)
+            {
+                evict();
+            }
+        } catch (IOException e)
+        {
+            // a cache that cannot write simply stays cold
+            LOGGER.log(Level.WARNING, "Could not cache " + key + " in " + directory, e);
+        }
+    }
+
+    @Override
+    public void invalidate(CompletedBuildKey key)
+    {
+        delete(fileOf(key));
+    }
+
+    @Override
+    public synchronized void invalidateJob(String folderPath, String jobName)
+    {
+        Path jobDirectory = jobDirectory(CompletedBuildKey.of(folderPath, jobName, 0, "").jobPath());
+        if (!Files.isDirectory(jobDirectory))
+        {
+            return;
+        }
+        try
+        {
+            deleteTree(jobDirectory);
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized void clear()
+    {
+        try
+        {
+            deleteTree(directory);
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // cache files first to keep sizeBytes right, then the emptied directories below root
+    private void deleteTree(Path root) throws IOException
+    {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(root))
+        {
+            paths = walk.sorted(Comparator.reverseOrder()).toList();
+        }
+        for (Path path : paths)
+        {
+            if (path.equals(directory))
+            {
+                continue;
+            }
+            if (Files.isDirectory(path))
+            {
+                try
+                {
+                    Files.deleteIfExists(path);
+                } catch (DirectoryNotEmptyException e)
+                {
+                    // a concurrent put, its entry is dropped along with the job next time
+                    LOGGER.log(Level.DEBUG, "Could not delete " + path, e);
+                }
+            } else if (path.getFileName().toString().endsWith(SUFFIX))
+            {
+                delete(path);
+            }
+        }
+    }
+
+    private synchronized void evict()
+    {
+        try
+        {
+            List<Path> oldestFirst = cacheFiles().stream()
+                .sorted(Comparator.comparing(DiskCompletedBuildCache::lastModified))
+                .toList();
+            for (Path file : oldestFirst)
+            {
+                if (sizeBytes.get() <= maxSizeBytes)
+                {
+                    break;
+                }
+                delete(file);
+            }
+        } catch (IOException e)
+        {
+            LOGGER.log(Level.WARNING, "Could not evict from " + directory, e);
+        }
+    }
+
+    private void delete(Path file)
+    {
+        try
+        {
+            long size = sizeOf(file);
+            if (Files.deleteIfExists(file))
+            {
+                sizeBytes.addAndGet(-size);
+            }
+        } catch (IOException e)
+        {
+            LOGGER.log(Level.DEBUG, "Could not delete " + file, e);
+        }
+    }
+
+    private List<Path> cacheFiles() throws IOException
+    {
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            return files.filter(file -> file.getFileName().toString().endsWith(SUFFIX) && Files.isRegularFile(file)).toList();
+        }
+    }
+
+    private Path fileOf(CompletedBuildKey key)
+    {
+        return jobDirectory(key.jobPath()).resolve(sha256(key.toString()) + SUFFIX);
+    }
+
+    // job/a/job/b -> <hash of a>/<hash of b>, a prefix of the job path is a parent directory
+    private Path jobDirectory(String jobPath)
+    {
+        Path jobDirectory = directory;
+        String[] segments = jobPath.split("/");
+        for (int i = 1; i < segments.length; i += 2)
+        {
+            jobDirectory = jobDirectory.resolve(sha256(segments[i]).substring(0, JOB_HASH_LENGTH));
+        }
+        return jobDirectory;
+    }
+
+    private static String sha256(String text)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(text.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static long sizeOf(Path file) throws IOException
+    {
+        return Files.exists(file) ? Files.size(file) : 0;
+    }
+
+    private static FileTime lastModified(Path file)
+    {
+        try
+        {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e)
+        {
+            return FileTime.fromMillis(0);
+        }
+    }
+}
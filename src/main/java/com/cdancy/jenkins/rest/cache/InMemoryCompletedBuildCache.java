@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Least recently used {@link CompletedBuildCache} bounded by its number of entries,
+ * optionally backed by a second, larger tier such as {@link DiskCompletedBuildCache}.
+ * Values read from the second tier are promoted, values put are written to both.
+ */
+public final class InMemoryCompletedBuildCache implements CompletedBuildCache
+{
+    private final Map<CompletedBuildKey, Object> entries;
+    private final CompletedBuildCache secondTier;
+
+    public InMemoryCompletedBuildCache(int maxEntries)
+    {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param maxEntries entries kept in memory before the least recently used one is dropped.
+     * @param secondTier consulted on a miss, may be null.
+     */
+    public InMemoryCompletedBuildCache(int maxEntries, CompletedBuildCache secondTier)
+    {
+        if (maxEntries <= 0)
+        {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.entries = new LinkedHashMap<>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CompletedBuildKey, Object> eldest)
+            {
+                return size() > maxEntries;
+            }
+        };
+        this.secondTier = secondTier;
+    }
+
+    @Override
+    public <T> T get(CompletedBuildKey key, Class<T> type)
+    {
+        Object value;
+        synchronized (entries)
+        {
+            value = entries.get(key);
+        }
+        if (type.isInstance(value))
+        {
+            return type.cast(value);
+        }
+        if (secondTier == null)
+        {
+            return null;
+        }
+
+        T promoted = secondTier.get(key, type);
+        if (promoted != null)
+        {
+            synchronized (entries)
+            {
+                entries.put(key, promoted);
+            }
+        }
+        return promoted;
+    }
+
+    @Override
+    public <T> void put(CompletedBuildKey key, Class<T> type, T value)
+    {
+        synchronized (entries)
+        {
+            entries.put(key, value);
+        }
+        if (secondTier != null)
+        {
+            secondTier.put(key, type, value);
+        }
+    }
+
+    @Override
+    public void invalidate(CompletedBuildKey key)
+    {
+        synchronized (entries)
+        {
+            entries.remove(key);
+        }
+        if (secondTier != null)
+        {
+            secondTier.invalidate(key);
+        }
+    }
+
+    @Override
+    public void invalidateJob(String folderPath, String jobName)
+    {
+        String jobPath = CompletedBuildKey.of(folderPath, jobName, 0, "").jobPath();
+        synchronized (entries)
+        {
+            entries.keySet().removeIf(key -> key.jobPath().equals(jobPath) || key.jobPath().startsWith(jobPath + "/"));
+        }
+        if (secondTier != null)
+        {
+            secondTier.invalidateJob(folderPath, jobName);
+        }
+    }
+
+    @Override
+    public void clear()
+    {
+        synchronized (entries)
+        {
+            entries.clear();
+        }
+        if (secondTier != null)
+        {
+            secondTier.clear();
+        }
+    }
+}
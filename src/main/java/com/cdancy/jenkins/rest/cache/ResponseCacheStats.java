@@ -0,0 +1,31 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.cache;
+
+/**
+ * Point in time snapshot of a {@link ConditionalResponseCache}.
+ *
+ * @param hits         responses served from the cache after a {@code 304 Not Modified}.
+ * @param misses       cacheable GETs answered with a full body.
+ * @param entries      responses currently cached.
+ * @param sizeBytes    summed body size of the cached responses.
+ * @param maxSizeBytes bound of sizeBytes.
+ */
+public record ResponseCacheStats(long hits, long misses, int entries, long sizeBytes, long maxSizeBytes)
+{
+}
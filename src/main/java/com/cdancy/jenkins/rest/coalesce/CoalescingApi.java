@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.coalesce;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decorates an api interface so that concurrent invocations of the same {@link Idempotent} method
+ * with equal arguments go through one {@link SingleFlight} execution.
+ * Every other method goes straight to the delegate.
+ */
+public final class CoalescingApi implements InvocationHandler
+{
+    private final Object delegate;
+    private final SingleFlight singleFlight;
+
+    private CoalescingApi(Object delegate, SingleFlight singleFlight)
+    {
+        this.delegate = delegate;
+        this.singleFlight = singleFlight;
+    }
+
+    public static <T> T of(Class<T> api, T delegate, SingleFlight singleFlight)
+    {
+        return api.cast(Proxy.newProxyInstance(api.getClassLoader(), new Class<?>[]{api},
+            new CoalescingApi(delegate, singleFlight)));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        if (method.isAnnotationPresent(Idempotent.class))
+        {
+            return singleFlight.execute(new CallKey(method, args == null ? List.of() : Arrays.asList(args)),
+                () -> forward(method, args));
+        } else if (method.getDeclaringClass() == Object.class)
+        {
+            return switch (method.getName())
+            {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "CoalescingApi[" + delegate + "]";
+            };
+        }
+        return forward(method, args);
+    }
+
+    private Object forward(Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private record CallKey(Method method, List<Object> args)
+    {
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.coalesce;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lets concurrent callers of the same key share one execution: the first caller runs it,
+ * callers arriving while it is in flight wait for and receive the same result or exception.
+ * Nothing is remembered once the execution is over.
+ */
+public final class SingleFlight
+{
+    private final ConcurrentMap<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    @FunctionalInterface
+    public interface Call
+    {
+        Object call() throws Throwable;
+    }
+
+    public Object execute(Object key, Call call) throws Throwable
+    {
+        calls.increment();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null)
+        {
+            coalesced.increment();
+            return await(leader);
+        }
+
+        try
+        {
+            Object result = call.call();
+            mine.complete(result);
+            return result;
+        } catch (Throwable t)
+        {
+            mine.completeExceptionally(t);
+            throw t;
+        } finally
+        {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    public CoalescingStats stats()
+    {
+        return new CoalescingStats(calls.sum(), coalesced.sum(), inFlight.size());
+    }
+
+    private static Object await(CompletableFuture<Object> leader) throws Throwable
+    {
+        try
+        {
+            return leader.get();
+        } catch (ExecutionException e)
+        {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.config;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Pulls single values out of a config.xml stream with StAX, reading no further than the element asked for.
+ */
+public final class ConfigXml
+{
+    private static final XMLInputFactory XML = newFactory();
+
+    private ConfigXml()
+    {
+    }
+
+    /**
+     * @param path slash separated element names: {@code /project/disabled} from the root, or a suffix such as
+     *             {@code disabled} or {@code scm/userRemoteConfigs/hudson.plugins.git.UserRemoteConfig/url}
+     *             matching the first element in document order ending that way.
+     * @return the text of the element, null when there is no such element.
+     * @throws XMLStreamException when the document is malformed or the element contains other elements.
+     */
+    public static String element(InputStream xml, String path) throws XMLStreamException
+    {
+        boolean absolute = path.startsWith("/");
+        String[] target = (absolute ? path.substring(1) : path).split("/");
+        List<String> stack = new ArrayList<>();
+
+        XMLStreamReader reader = XML.createXMLStreamReader(xml);
+        try
+        {
+            while (reader.hasNext())
+            {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT)
+                {
+                    stack.add(reader.getLocalName());
+                    if (matches(stack, target, absolute))
+                    {
+                        return reader.getElementText();
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT)
+                {
+                    stack.remove(stack.size() - 1);
+                }
+            }
+            return null;
+        } finally
+        {
+            reader.close();
+        }
+    }
+
+    static XMLInputFactory newFactory()
+    {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+
+    private static boolean matches(List<String> stack, String[] target, boolean absolute)
+    {
+        int offset = stack.size() - target.length;
+        if (offset < 0 || (absolute && offset != 0))
+        {
+            return false;
+        }
+        for (int index = 0; index < target.length; index++)
+        {
+            if (!target[index].equals(stack.get(offset + index)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,547 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.config;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * A job's config.xml kept as text, with typed reads and targeted edits.
+ * <p>
+ * Nothing is parsed until the first access, which scans the document once and records where every element
+ * starts and ends. Reads then go straight to the element's text, decoded with StAX only when it contains
+ * entities or CDATA. Edits splice the new text in place and shift the recorded offsets, so everything else
+ * in the document, formatting and comments included, is written back byte for byte.
+ * <p>
+ * Paths are slash separated element names, absolute from the root ({@code /project/disabled}) or matching the
+ * end of an element's path ({@code parameterDefinitions/*}{@code /name}); {@code *} matches any single name.
+ * <p>
+ * The document itself is held in memory as text, since edits are spliced into it: what is saved over a
+ * {@code String} based config is the parsed tree, the index keeps a few offsets and a shared name per element.
+ * Instances are mutable and not thread safe, give every caller its own.
+ */
+public final class JobConfig
+{
+    private static final XMLInputFactory XML = ConfigXml.newFactory();
+
+    private final StringBuilder xml;
+    private List<Element> elements;
+
+    private JobConfig(StringBuilder xml)
+    {
+        this.xml = xml;
+    }
+
+    public static JobConfig of(String xml)
+    {
+        return new JobConfig(new StringBuilder(Objects.requireNonNull(xml, "xml")));
+    }
+
+    /**
+     * Reads the whole document without parsing it, the reader is left open.
+     */
+    public static JobConfig of(Reader reader) throws IOException
+    {
+        StringBuilder xml = new StringBuilder(8192);
+        char[] buffer = new char[8192];
+        int read;
+        while ((read = reader.read(buffer)) != -1)
+        {
+            xml.append(buffer, 0, read);
+        }
+        return new JobConfig(xml);
+    }
+
+    /**
+     * @return the document, edits included.
+     */
+    public String xml()
+    {
+        return xml.toString();
+    }
+
+    public boolean has(String path)
+    {
+        return first(path) != null;
+    }
+
+    /**
+     * @return the text of the first element matching the path, null when there is none.
+     * @throws IllegalArgumentException when that element contains other elements.
+     */
+    public String get(String path)
+    {
+        Element element = first(path);
+        return element == null ? null : text(element);
+    }
+
+    /**
+     * @return the text of every leaf element matching the path, in document order.
+     */
+    public List<String> getAll(String path)
+    {
+        List<String> values = new ArrayList<>();
+        for (Element element : matching(path))
+        {
+            if (!element.hasChildren)
+            {
+                values.add(text(element));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * @return the names of the elements directly below the first element matching the path, e.g. the
+     * trigger classes below {@code triggers}.
+     */
+    public List<String> children(String path)
+    {
+        Element parent = first(path);
+        List<String> names = new ArrayList<>();
+        if (parent != null)
+        {
+            for (Element element : index())
+            {
+                if (element.parent == parent)
+                {
+                    names.add(element.name());
+                }
+            }
+        }
+        return names;
+    }
+
+    public Boolean getBoolean(String path)
+    {
+        String value = get(path);
+        return value == null ? null : Boolean.valueOf(value.trim());
+    }
+
+    public List<String> parameterNames()
+    {
+        return getAll("parameterDefinitions/*/name");
+    }
+
+    public List<String> scmUrls()
+    {
+        List<String> urls = new ArrayList<>(getAll("userRemoteConfigs/*/url"));
+        urls.addAll(getAll("locations/*/remote"));
+        return urls;
+    }
+
+    public List<String> triggers()
+    {
+        return children("triggers");
+    }
+
+    /**
+     * Replaces the text of the first element matching the path, escaping it as needed.
+     *
+     * @return this config.
+     * @throws IllegalArgumentException when no element matches or it contains other elements.
+     */
+    public JobConfig set(String path, String value)
+    {
+        Element element = first(path);
+        if (element == null)
+        {
+            throw new IllegalArgumentException("No element " + path);
+        } else if (element.hasChildren)
+        {
+            throw new IllegalArgumentException("Element " + path + " contains other elements");
+        }
+
+        String escaped = escape(value == null ? "" : value);
+        if (element.contentStart < 0)
+        {
+            // <name/> becomes <name>value</name>
+            String replacement = "<" + element.name() + element.attributes(xml) + ">" + escaped + "</" + element.name() + ">";
+            int oldEnd = element.end;
+            xml.replace(element.start, oldEnd, replacement);
+            element.contentStart = element.start + replacement.indexOf('>') + 1;
+            element.contentEnd = element.contentStart + escaped.length();
+            element.end = element.start + replacement.length();
+            shift(element, oldEnd, element.end - oldEnd);
+        } else
+        {
+            int oldEnd = element.contentEnd;
+            xml.replace(element.contentStart, oldEnd, escaped);
+            element.contentEnd = element.contentStart + escaped.length();
+            element.end += element.contentEnd - oldEnd;
+            shift(element, oldEnd, element.contentEnd - oldEnd);
+        }
+        return this;
+    }
+
+    public JobConfig set(String path, boolean value)
+    {
+        return set(path, String.valueOf(value));
+    }
+
+    @Override
+    public String toString()
+    {
+        return xml();
+    }
+
+    private Element first(String path)
+    {
+        String[] target = segments(path);
+        boolean absolute = path.startsWith("/");
+        for (Element element : index())
+        {
+            if (element.matches(target, absolute))
+            {
+                return element;
+            }
+        }
+        return null;
+    }
+
+    private List<Element> matching(String path)
+    {
+        String[] target = segments(path);
+        boolean absolute = path.startsWith("/");
+        List<Element> found = new ArrayList<>();
+        for (Element element : index())
+        {
+            if (element.matches(target, absolute))
+            {
+                found.add(element);
+            }
+        }
+        return found;
+    }
+
+    private static String[] segments(String path)
+    {
+        return (path.startsWith("/") ? path.substring(1) : path).split("/");
+    }
+
+    // moves every offset at or after the edited range, the edited element and its ancestors only grow or shrink
+    private void shift(Element edited, int from, int delta)
+    {
+        if (delta == 0)
+        {
+            return;
+        }
+        for (Element element : elements)
+        {
+            if (element == edited)
+            {
+                continue;
+            }
+            if (element.start >= from)
+            {
+                element.start += delta;
+                element.contentStart += element.contentStart < 0 ? 0 : delta;
+                element.contentEnd += element.contentEnd < 0 ? 0 : delta;
+                element.end += delta;
+            } else if (element.end >= from)
+            {
+                element.contentEnd += delta;
+                element.end += delta;
+            }
+        }
+    }
+
+    private String text(Element element)
+    {
+        if (element.hasChildren)
+        {
+            throw new IllegalArgumentException("Element " + element.path() + " contains other elements");
+        } else if (element.contentStart < 0)
+        {
+            return "";
+        }
+        String content = xml.substring(element.contentStart, element.contentEnd);
+        if (content.indexOf('&') < 0 && content.indexOf('<') < 0)
+        {
+            return content;
+        }
+        try
+        {
+            XMLStreamReader reader = XML.createXMLStreamReader(new StringReader("<v>" + content + "</v>"));
+            try
+            {
+                reader.nextTag();
+                return reader.getElementText();
+            } finally
+            {
+                reader.close();
+            }
+        } catch (XMLStreamException e)
+        {
+            throw new IllegalArgumentException("Malformed content in " + element.path() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String escape(String value)
+    {
+        StringBuilder escaped = new StringBuilder(value.length() + 16);
+        for (int index = 0; index < value.length(); index++)
+        {
+            char c = value.charAt(index);
+            switch (c)
+            {
+                case '&' -> escaped.append("&amp;");
+                case '<' -> escaped.append("&lt;");
+                case '>' -> escaped.append("&gt;");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private List<Element> index()
+    {
+        if (elements == null)
+        {
+            elements = new Scanner(xml).scan();
+        }
+        return elements;
+    }
+
+    /**
+     * Offsets of one element in the document; content offsets are -1 for an empty {@code <name/>} element.
+     */
+    private static final class Element
+    {
+        private final Element parent;
+        private final String name;
+        private boolean hasChildren;
+        private int start;
+        private int contentStart = -1;
+        private int contentEnd = -1;
+        private int end;
+
+        private Element(Element parent, String name, int start)
+        {
+            this.parent = parent;
+            this.name = name;
+            this.start = start;
+        }
+
+        private String name()
+        {
+            return name;
+        }
+
+        private String path()
+        {
+            return (parent == null ? "" : parent.path()) + "/" + name;
+        }
+
+        // attributes of the start tag as written, with their leading whitespace
+        private String attributes(CharSequence xml)
+        {
+            int tagEnd = contentStart < 0 ? end : contentStart;
+            String tag = xml.subSequence(start, tagEnd).toString();
+            String inner = tag.substring(1 + name().length(), tag.length() - (tag.endsWith("/>") ? 2 : 1));
+            return inner.stripTrailing();
+        }
+
+        // compares the target with this element and its ancestors, from the last name backwards
+        private boolean matches(String[] target, boolean absolute)
+        {
+            Element element = this;
+            for (int index = target.length - 1; index >= 0; index--, element = element.parent)
+            {
+                if (element == null || (!"*".equals(target[index]) && !target[index].equals(element.name)))
+                {
+                    return false;
+                }
+            }
+            return !absolute || element == null;
+        }
+    }
+
+    /**
+     * Single pass over the markup recording element offsets. Comments, CDATA sections, processing instructions
+     * and the doctype are skipped, quoted attribute values may contain {@code >}.
+     */
+    private static final class Scanner
+    {
+        private final CharSequence xml;
+        private final List<Element> elements = new ArrayList<>();
+        // one instance per distinct name, configs repeat the same few hundred names
+        private final Map<String, String> names = new HashMap<>();
+
+        private Scanner(CharSequence xml)
+        {
+            this.xml = xml;
+        }
+
+        private List<Element> scan()
+        {
+            Element open = null;
+            int position = 0;
+            while ((position = indexOf("<", position)) >= 0)
+            {
+                if (startsWith("<?", position))
+                {
+                    position = after("?>", position);
+                } else if (startsWith("<!--", position))
+                {
+                    position = after("-->", position);
+                } else if (startsWith("<![CDATA[", position))
+                {
+                    position = after("]]>", position);
+                } else if (startsWith("<!", position))
+                {
+                    position = after(">", position);
+                } else if (startsWith("</", position))
+                {
+                    if (open == null)
+                    {
+                        throw new IllegalArgumentException("Unexpected end tag at " + position);
+                    }
+                    int nameEnd = nameEnd(position + 2);
+                    if (!regionEquals(open.name, position + 2, nameEnd))
+                    {
+                        throw new IllegalArgumentException("End tag " + xml.subSequence(position + 2, nameEnd) + " at "
+                            + position + " does not close " + open.path());
+                    }
+                    open.contentEnd = position;
+                    open.end = after(">", position);
+                    position = open.end;
+                    open = open.parent;
+                } else
+                {
+                    int nameEnd = nameEnd(position + 1);
+                    String name = xml.subSequence(position + 1, nameEnd).toString();
+                    Element element = new Element(open, names.computeIfAbsent(name, Function.identity()), position);
+                    if (open != null)
+                    {
+                        open.hasChildren = true;
+                    }
+                    elements.add(element);
+                    int tagEnd = tagEnd(nameEnd);
+                    if (xml.charAt(tagEnd - 2) == '/')
+                    {
+                        element.end = tagEnd;
+                    } else
+                    {
+                        element.contentStart = tagEnd;
+                        open = element;
+                    }
+                    position = tagEnd;
+                }
+            }
+            if (open != null)
+            {
+                throw new IllegalArgumentException("Element " + open.path() + " is never closed");
+            }
+            return elements;
+        }
+
+        private int nameEnd(int from)
+        {
+            int nameEnd = from;
+            while (nameEnd < xml.length() && !isNameEnd(xml.charAt(nameEnd)))
+            {
+                nameEnd++;
+            }
+            return nameEnd;
+        }
+
+        private boolean regionEquals(String name, int from, int to)
+        {
+            if (to - from != name.length())
+            {
+                return false;
+            }
+            for (int index = 0; index < name.length(); index++)
+            {
+                if (xml.charAt(from + index) != name.charAt(index))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // position after the '>' closing a start tag, skipping quoted attribute values
+        private int tagEnd(int from)
+        {
+            char quote = 0;
+            for (int index = from; index < xml.length(); index++)
+            {
+                char c = xml.charAt(index);
+                if (quote != 0)
+                {
+                    quote = c == quote ? 0 : quote;
+                } else if (c == '"' || c == '\'')
+                {
+                    quote = c;
+                } else if (c == '>')
+                {
+                    return index + 1;
+                }
+            }
+            throw new IllegalArgumentException("Unterminated tag at " + from);
+        }
+
+        private int after(String terminator, int from)
+        {
+            int found = indexOf(terminator, from);
+            if (found < 0)
+            {
+                throw new IllegalArgumentException("Missing " + terminator + " after " + from);
+            }
+            return found + terminator.length();
+        }
+
+        private int indexOf(String text, int from)
+        {
+            return xml instanceof StringBuilder builder ? builder.indexOf(text, from) : xml.toString().indexOf(text, from);
+        }
+
+        private boolean startsWith(String prefix, int at)
+        {
+            if (at + prefix.length() > xml.length())
+            {
+                return false;
+            }
+            for (int index = 0; index < prefix.length(); index++)
+            {
+                if (xml.charAt(at + index) != prefix.charAt(index))
+                {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean isNameEnd(char c)
+        {
+            return Character.isWhitespace(c) || c == '/' || c == '>';
+        }
+    }
+}
@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.domain.common;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Typed builder of the Jenkins remote api {@code tree} and {@code depth} query parameters.
+ * <p>
+ * {@code Projection.of(JobInfo.class).fields("name", "color", "lastBuild[number,result]")} asks Jenkins to only
+ * serialize those fields, the response is still mapped onto {@code JobInfo} and every other field is left at
+ * its default value. Field names are checked against the {@link JsonProperty} names of the domain class, nested
+ * selections against the type of the enclosing field, so a typo fails fast instead of silently returning nothing.
+ * <p>
+ * Instances are immutable, every method returns a new projection.
+ *
+ * @param <T> domain type the response is mapped onto.
+ */
+public final class Projection<T>
+{
+
+    private final Class<T> type;
+    private final List<String> fields;
+    private final Integer depth;
+
+    private Projection(Class<T> type, List<String> fields, Integer depth)
+    {
+        this.type = type;
+        this.fields = fields;
+        this.depth = depth;
+    }
+
+    public static <T> Projection<T> of(Class<T> type)
+    {
+        return new Projection<>(Objects.requireNonNull(type, "type"), Collections.emptyList(), null);
+    }
+
+    /**
+     * Add fields to the selection.
+     *
+     * @param selections field names, optionally with a nested {@code [sub,fields]} selection
+     *                   and a {@code {from,to}} range, e.g. {@code builds[number,result]{0,10}}.
+     * @return a projection selecting the previous and the given fields.
+     */
+    public Projection<T> fields(String... selections)
+    {
+        List<String> merged = new ArrayList<>(fields);
+        for (String selection : selections)
+        {
+            String trimmed = Objects.requireNonNull(selection, "selection").trim();
+            new TreeValidator(trimmed).validate(type);
+            merged.add(trimmed);
+        }
+        return new Projection<>(type, List.copyOf(merged), depth);
+    }
+
+    /**
+     * @param value how many levels of nested objects Jenkins expands when no tree is given.
+     * @return a projection with the given depth.
+     */
+    public Projection<T> depth(int value)
+    {
+        if (value < 0)
+        {
+            throw new IllegalArgumentException("depth must not be negative: " + value);
+        }
+        return new Projection<>(type, fields, value);
+    }
+
+    public Class<T> type()
+    {
+        return type;
+    }
+
+    /**
+     * @return the {@code tree} query value, or null when no field was selected.
+     */
+    public String tree()
+    {
+        return fields.isEmpty() ? null : String.join(",", fields);
+    }
+
+    /**
+     * @return the {@code depth} query value, or null when not set.
+     */
+    public Integer depth()
+    {
+        return depth;
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        if (this == o)
+        {
+            return true;
+        }
+        if (!(o instanceof Projection<?> that))
+        {
+            return false;
+        }
+        return type.equals(that.type) && fields.equals(that.fields) && Objects.equals(depth, that.depth);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(type, fields, depth);
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Projection{type=" + type.getSimpleName() + ", tree=" + tree() + ", depth=" + depth + "}";
+    }
+
+    /**
+     * Recursive descent over a tree expression, resolving each name against the domain type it applies to.
+     */
+    private static final class TreeValidator
+    {
+        private final String expression;
+        private int position;
+
+        private TreeValidator(String expression)
+        {
+            this.expression = expression;
+        }
+
+        private void validate(Type target)
+        {
+            if (expression.isEmpty())
+            {
+                throw new IllegalArgumentException("Empty field selection");
+            }
+            list(target);
+            if (position != expression.length())
+            {
+                throw error("Unexpected '" + expression.charAt(position) + "'");
+            }
+        }
+
+        private void list(Type target)
+        {
+            Map<String, Type> properties = properties(target);
+            do
+            {
+                String name = name();
+                Type fieldType = null;
+                if (properties != null && !"*".equals(name))
+                {
+                    if (!properties.containsKey(name))
+                    {
+                        throw error("Unknown field '" + name + "' for " + rawClass(target).getSimpleName());
+                    }
+                    fieldType = elementType(properties.get(name));
+                }
+                if (accept('['))
+                {
+                    list(fieldType);
+                    expect(']');
+                }
+                if (accept('{'))
+                {
+                    skipRange();
+                }
+            } while (accept(','));
+        }
+
+        private String name()
+        {
+            skipWhitespace();
+            int start = position;
+            while (position < expression.length() && "[]{},".indexOf(expression.charAt(position)) < 0)
+            {
+                position++;
+            }
+            String name = expression.substring(start, position).trim();
+            if (name.isEmpty())
+            {
+                throw error("Missing field name");
+            }
+            return name;
+        }
+
+        private void skipRange()
+        {
+            int end = expression.indexOf('}', position);
+            if (end < 0)
+            {
+                throw error("Unterminated range");
+            }
+            position = end + 1;
+        }
+
+        private boolean accept(char expected)
+        {
+            skipWhitespace();
+            if (position < expression.length() && expression.charAt(position) == expected)
+            {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected)
+        {
+            if (!accept(expected))
+            {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private void skipWhitespace()
+        {
+            while (position < expression.length() && Character.isWhitespace(expression.charAt(position)))
+            {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message)
+        {
+            return new IllegalArgumentException(message + " at position " + position + " of '" + expression + "'");
+        }
+
+        /**
+         * @return the json property names of a domain class and their types, null when the type is not a domain
+         * class (String, Map, unknown), in which case nested selections are passed through unchecked.
+         */
+        private static Map<String, Type> properties(Type target)
+        {
+            Class<?> raw = rawClass(target);
+            if (raw == null || raw.isPrimitive() || raw.getName().startsWith("java."))
+            {
+                return null;
+            }
+            Constructor<?> creator = null;
+            for (Constructor<?> constructor : raw.getDeclaredConstructors())
+            {
+                if (constructor.isAnnotationPresent(JsonCreator.class) || raw.isRecord())
+                {
+                    creator = constructor;
+                    break;
+                }
+            }
+            if (creator == null)
+            {
+                return null;
+            }
+            Map<String, Type> properties = new HashMap<>();
+            Parameter[] parameters = creator.getParameters();
+            Type[] types = creator.getGenericParameterTypes();
+            for (int index = 0; index < parameters.length; index++)
+            {
+                JsonProperty property = parameters[index].getAnnotation(JsonProperty.class);
+                if (property != null)
+                {
+                    properties.put(property.value(), types[index]);
+                }
+            }
+            return properties;
+        }
+
+        private static Type elementType(Type type)
+        {
+            if (type instanceof ParameterizedType parameterized
+                && parameterized.getRawType() instanceof Class<?> raw
+                && Collection.class.isAssignableFrom(raw))
+            {
+                return parameterized.getActualTypeArguments()[0];
+            }
+            if (type instanceof GenericArrayType array)
+            {
+                return array.getGenericComponentType();
+            }
+            if (type instanceof Class<?> clazz && clazz.isArray())
+            {
+                return clazz.getComponentType();
+            }
+            return type;
+        }
+
+        private static Class<?> rawClass(Type type)
+        {
+            if (type instanceof Class<?> clazz)
+            {
+                return clazz;
+            }
+            if (type instanceof ParameterizedType parameterized && parameterized.getRawType() instanceof Class<?> raw)
+            {
+                return raw;
+            }
+            return null;
+        }
+    }
+}
@@ -23,13 +23,13 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 public final class ProgressiveText {
 
     private final String text;
-    private final int size;
+    private final long size;
     private final boolean hasMoreData;
 
     @JsonCreator
     public ProgressiveText(
         @JsonProperty("text") String text,
-        @JsonProperty("size") int size,
+        @JsonProperty("size") long size,
         @JsonProperty("hasMoreData") boolean hasMoreData
     ) {
         this.text = text;
@@ -41,7 +41,10 @@ public final class ProgressiveText {
         return text;
     }
 
-    public int getSize() {
+    /**
+     * @return offset to pass as {@code start} of the next call, a long since console logs may exceed 2 GB.
+     */
+    public long getSize() {
         return size;
     }
 
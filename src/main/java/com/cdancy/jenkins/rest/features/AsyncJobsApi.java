@@ -0,0 +1,608 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.JenkinsPaths.appendFolderPrefixIfNeeded;
+import static com.cdancy.jenkins.rest.features.JobPaths.toForm;
+import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
+
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.domain.job.JobList;
+import com.cdancy.jenkins.rest.domain.job.PipelineNode;
+import com.cdancy.jenkins.rest.domain.job.PipelineNodeLog;
+import com.cdancy.jenkins.rest.domain.job.ProgressiveText;
+import com.cdancy.jenkins.rest.domain.job.Workflow;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Form;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link JobsApi}.
+ * Every raw method returns a {@link CompletionStage} so the MicroProfile RestClient
+ * completes it without parking the calling thread for the duration of the request.
+ */
+@Path("/")
+public interface AsyncJobsApi
+{
+
+    @Path("api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    CompletionStage<Response> jobListRaw();
+
+    @Path("/{folderPath}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    CompletionStage<Response> jobListInFolderRaw(@PathParam("folderPath") String folderPath);
+
+    default CompletionStage<ResponseResult<JobList>> jobList(String folderPath)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? jobListRaw()
+            : jobListInFolderRaw(appendFolderPrefixIfNeeded(folderPath));
+        return response.thenApply(r -> of(r, JobList.class));
+    }
+
+    @GET
+    @Path("job/{name}/api/json")
+    CompletionStage<Response> jobInfoRaw(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/api/json")
+    CompletionStage<Response> jobInfoInFolderRaw(@PathParam("folderPath") String folderPath,
+                                                 @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<JobInfo>> jobInfo(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? jobInfoRaw(jobName)
+            : jobInfoInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(r -> of(r, JobInfo.class));
+    }
+
+    @Path("job/{name}/{number}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    CompletionStage<Response> buildInfoRaw(@PathParam("name") String name,
+                                           @PathParam("number") int number);
+
+    @Path("/{folderPath}/job/{name}/{number}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    CompletionStage<Response> buildInfoInFolderRaw(@PathParam("folderPath") String folderPath,
+                                                   @PathParam("name") String name,
+                                                   @PathParam("number") int number);
+
+    default CompletionStage<ResponseResult<BuildInfo>> buildInfo(String folderPath, String jobName, int buildNumber)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? buildInfoRaw(jobName, buildNumber)
+            : buildInfoInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber);
+        return response.thenApply(r -> of(r, BuildInfo.class));
+    }
+
+    @GET
+    @Path("job/{name}/{number}/artifact/{relativeArtifactPath}")
+    @Consumes(MediaType.WILDCARD)
+    CompletionStage<Response> artifactRaw(
+        @PathParam("name") String jobName,
+        @PathParam("number") int buildNumber,
+        @PathParam("relativeArtifactPath") String relativeArtifactPath
+    );
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/artifact/{relativeArtifactPath}")
+    @Consumes(MediaType.WILDCARD)
+    CompletionStage<Response> artifactInFolderRaw(
+        @PathParam("folderPath") String folderPath,
+        @PathParam("name") String jobName,
+        @PathParam("number") int buildNumber,
+        @PathParam("relativeArtifactPath") String relativeArtifactPath
+    );
+
+    default CompletionStage<ResponseResult<InputStream>> artifactInFolder(
+        String folderPath,
+        String jobName,
+        int buildNumber,
+        String relativeArtifactPath
+    )
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? artifactRaw(jobName, buildNumber, relativeArtifactPath)
+            : artifactInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, relativeArtifactPath);
+        return response.thenApply(r -> of(r, InputStream.class));
+    }
+
+    @POST
+    @Path("createItem")
+    @Produces(MediaType.APPLICATION_XML)
+    @Consumes(MediaType.APPLICATION_XML)
+    CompletionStage<Response> createRootJob(
+        @QueryParam("name") String jobName,
+        String configXML
+    );
+
+    @POST
+    @Path("/{folderPath}/createItem")
+    @Produces(MediaType.APPLICATION_XML)
+    @Consumes(MediaType.APPLICATION_XML)
+    CompletionStage<Response> createJobInFolder(
+        @PathParam("folderPath") String folderPath,
+        @QueryParam("name") String jobName,
+        String configXML
+    );
+
+    default CompletionStage<ResponseResult<Void>> create(String folderPath, String jobName, String configXML)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? createRootJob(jobName, configXML)
+            : createJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, configXML);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @GET
+    @Path("job/{name}/config.xml")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> getRootJobConfig(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/config.xml")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> getJobConfigInFolder(@PathParam("folderPath") String folderPath,
+                                                   @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<String>> config(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? getRootJobConfig(jobName)
+            : getJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(r -> of(r, String.class));
+    }
+
+    @POST
+    @Path("job/{name}/config.xml")
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_XML)
+    CompletionStage<Response> updateRootJobConfig(@PathParam("name") String jobName, String configXML);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/config.xml")
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_XML)
+    CompletionStage<Response> updateJobConfigInFolder(@PathParam("folderPath") String folderPath,
+                                                      @PathParam("name") String jobName,
+                                                      String configXML);
+
+    default CompletionStage<ResponseResult<Void>> config(String folderPath, String jobName, String configXML)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? updateRootJobConfig(jobName, configXML)
+            : updateJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, configXML);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @GET
+    @Path("job/{name}/description")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> getRootJobDescription(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/description")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> getJobDescriptionInFolder(@PathParam("folderPath") String folderPath,
+                                                        @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<String>> description(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? getRootJobDescription(jobName)
+            : getJobDescriptionInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(r -> of(r, String.class));
+    }
+
+    @POST
+    @Path("job/{name}/description")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> setRootJobDescription(@PathParam("name") String jobName,
+                                                    @FormParam("description") String description);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/description")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> setJobDescriptionInFolder(@PathParam("folderPath") String folderPath,
+                                                        @PathParam("name") String jobName,
+                                                        @FormParam("description") String description);
+
+    default CompletionStage<ResponseResult<Void>> description(String folderPath, String jobName, String description)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? setRootJobDescription(jobName, description)
+            : setJobDescriptionInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, description);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/doDelete")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> deleteRootJob(@PathParam("name") String jobName);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/doDelete")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> deleteJobInFolder(@PathParam("folderPath") String folderPath,
+                                                @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<Void>> delete(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? deleteRootJob(jobName)
+            : deleteJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/enable")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> enableRootJob(@PathParam("name") String jobName);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/enable")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> enableJobInFolder(@PathParam("folderPath") String folderPath,
+                                                @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<Void>> enable(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? enableRootJob(jobName)
+            : enableJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/disable")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> disableRootJob(@PathParam("name") String name);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/disable")
+    @Consumes(MediaType.TEXT_HTML)
+    CompletionStage<Response> disableJobInFolder(@PathParam("folderPath") String folderPath,
+                                                 @PathParam("name") String name);
+
+    default CompletionStage<ResponseResult<Void>> disable(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? disableRootJob(jobName)
+            : disableJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/build")
+    @Consumes(MediaType.WILDCARD)
+    CompletionStage<Response> buildRootJob(@PathParam("name") String jobName);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/build")
+    @Consumes(MediaType.WILDCARD)
+    CompletionStage<Response> buildJobInFolder(@PathParam("folderPath") String folderPath,
+                                               @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<Long>> build(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? buildRootJob(jobName)
+            : buildJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(JobPaths::extractBuildNumberResponse);
+    }
+
+    @POST
+    @Path("job/{name}/buildWithParameters")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> buildRootJobWithParameters(@PathParam("name") String jobName, Form params);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/buildWithParameters")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> buildJobWithParametersInFolder(@PathParam("folderPath") String folderPath,
+                                                             @PathParam("name") String jobName,
+                                                             Form params);
+
+    default CompletionStage<ResponseResult<Long>> buildWithParameters(String folderPath,
+                                                                      String jobName,
+                                                                      Map<String, List<String>> params)
+    {
+        Form form = toForm(params);
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? buildRootJobWithParameters(jobName, form)
+            : buildJobWithParametersInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, form);
+        return response.thenApply(JobPaths::extractBuildNumberResponse);
+    }
+
+    @POST
+    @Path("job/{name}/{number}/stop")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> stopRootJob(@PathParam("name") String jobName, @PathParam("number") int buildNumber);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/{number}/stop")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> stopJobInFolder(@PathParam("folderPath") String folderPath,
+                                              @PathParam("name") String jobName,
+                                              @PathParam("number") int buildNumber);
+
+    default CompletionStage<ResponseResult<Void>> stop(String folderPath, String jobName, int buildNumber)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? stopRootJob(jobName, buildNumber)
+            : stopJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/{number}/term")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> termRootJob(@PathParam("name") String jobName, @PathParam("number") int buildNumber);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/{number}/term")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> termJobInFolder(@PathParam("folderPath") String folderPath,
+                                              @PathParam("name") String jobName,
+                                              @PathParam("number") int buildNumber);
+
+    default CompletionStage<ResponseResult<Void>> term(String folderPath, String jobName, int buildNumber)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? termRootJob(jobName, buildNumber)
+            : termJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @POST
+    @Path("job/{name}/{number}/kill")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> killRootJob(@PathParam("name") String jobName, @PathParam("number") int buildNumber);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/{number}/kill")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> killJobInFolder(@PathParam("folderPath") String folderPath,
+                                              @PathParam("name") String jobName,
+                                              @PathParam("number") int buildNumber);
+
+    default CompletionStage<ResponseResult<Void>> kill(String folderPath, String jobName, int buildNumber)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? killRootJob(jobName, buildNumber)
+            : killJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @GET
+    @Path("job/{name}/lastBuild/buildNumber")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> lastRootBuildNumber(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/lastBuild/buildNumber")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> lastBuildNumberInFolder(@PathParam("folderPath") String folderPath,
+                                                      @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<Integer>> lastBuildNumber(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? lastRootBuildNumber(jobName)
+            : lastBuildNumberInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(ResponseResult::ofInt);
+    }
+
+    @GET
+    @Path("job/{name}/lastBuild/buildTimestamp")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> lastRootBuildTimestamp(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/lastBuild/buildTimestamp")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> lastBuildTimestampInFolder(@PathParam("folderPath") String folderPath,
+                                                         @PathParam("name") String jobName);
+
+    default CompletionStage<ResponseResult<String>> lastBuildTimestamp(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? lastRootBuildTimestamp(jobName)
+            : lastBuildTimestampInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(r -> of(r, String.class));
+    }
+
+    @GET
+    @Path("job/{name}/lastBuild/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> progressiveRootText(@PathParam("name") String jobName, @QueryParam("start") int start);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/lastBuild/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> progressiveTextInFolder(@PathParam("folderPath") String folderPath,
+                                                      @PathParam("name") String jobName,
+                                                      @QueryParam("start") int start);
+
+    default CompletionStage<ResponseResult<ProgressiveText>> progressiveText(String folderPath, String jobName, int start)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? progressiveRootText(jobName, start)
+            : progressiveTextInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, start);
+        return response.thenApply(ResponseResult::ofProgressiveText);
+    }
+
+    @GET
+    @Path("job/{name}/{number}/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> progressiveRootBuildText(@PathParam("name") String jobName,
+                                                       @PathParam("number") int buildNumber,
+                                                       @QueryParam("start") int start);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    CompletionStage<Response> progressiveBuildTextInFolder(@PathParam("folderPath") String folderPath,
+                                                           @PathParam("name") String jobName,
+                                                           @PathParam("number") int buildNumber,
+                                                           @QueryParam("start") int start);
+
+    default CompletionStage<ResponseResult<ProgressiveText>> progressiveText(String folderPath,
+                                                                             String jobName,
+                                                                             int buildNumber,
+                                                                             int start)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? progressiveRootBuildText(jobName, buildNumber, start)
+            : progressiveBuildTextInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, start);
+        return response.thenApply(ResponseResult::ofProgressiveText);
+    }
+
+    @POST
+    @Path("job/{name}/doRename")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> renameRootJob(@PathParam("name") String jobName, @QueryParam("newName") String newName);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/doRename")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> renameJobInFolder(@PathParam("folderPath") String folderPath,
+                                                @PathParam("name") String jobName,
+                                                @QueryParam("newName") String newName);
+
+    default CompletionStage<ResponseResult<Void>> rename(String folderPath, String jobName, String newName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? renameRootJob(jobName, newName)
+            : renameJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, newName);
+        return response.thenApply(ResponseResult::ofVoid);
+    }
+
+    @GET
+    @Path("job/{name}/wfapi/runs")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> rootRunHistory(@PathParam("name") String jobName);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/wfapi/runs")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> runHistoryInFolder(@PathParam("folderPath") String folderPath,
+                                                 @PathParam("name") String jobName);
+
+    // same untyped list as JobsApi#runHistory, the entity is read as a raw List
+    @SuppressWarnings("unchecked")
+    default CompletionStage<ResponseResult<List<Workflow>>> runHistory(String folderPath, String jobName)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? rootRunHistory(jobName)
+            : runHistoryInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return response.thenApply(r -> of(r, (Class<List<Workflow>>) (Class<?>) List.class));
+    }
+
+    @GET
+    @Path("job/{name}/{number}/wfapi/describe")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> rootWorkflow(@PathParam("name") String jobName, @PathParam("number") int buildNumber);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/wfapi/describe")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> workflowInFolder(@PathParam("folderPath") String folderPath,
+                                               @PathParam("name") String jobName,
+                                               @PathParam("number") int buildNumber);
+
+    default CompletionStage<ResponseResult<Workflow>> workflow(String folderPath, String jobName, int buildNumber)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? rootWorkflow(jobName, buildNumber)
+            : workflowInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber);
+        return response.thenApply(r -> of(r, Workflow.class));
+    }
+
+    @GET
+    @Path("job/{name}/{number}/execution/node/{nodeId}/wfapi/describe")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> rootPipelineNode(@PathParam("name") String jobName,
+                                               @PathParam("number") int buildNumber,
+                                               @PathParam("nodeId") int nodeId);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/execution/node/{nodeId}/wfapi/describe")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> pipelineNodeInFolder(@PathParam("folderPath") String folderPath,
+                                                   @PathParam("name") String jobName,
+                                                   @PathParam("number") int buildNumber,
+                                                   @PathParam("nodeId") int nodeId);
+
+    default CompletionStage<ResponseResult<PipelineNode>> pipelineNode(String folderPath,
+                                                                       String jobName,
+                                                                       int buildNumber,
+                                                                       int nodeId)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? rootPipelineNode(jobName, buildNumber, nodeId)
+            : pipelineNodeInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, nodeId);
+        return response.thenApply(r -> of(r, PipelineNode.class));
+    }
+
+    @GET
+    @Path("job/{name}/{number}/execution/node/{nodeId}/wfapi/log")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> rootPipelineNodeLog(@PathParam("name") String jobName,
+                                                  @PathParam("number") int buildNumber,
+                                                  @PathParam("nodeId") int nodeId);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/execution/node/{nodeId}/wfapi/log")
+    @Consumes(MediaType.APPLICATION_JSON)
+    CompletionStage<Response> pipelineNodeLogInFolder(@PathParam("folderPath") String folderPath,
+                                                      @PathParam("name") String jobName,
+                                                      @PathParam("number") int buildNumber,
+                                                      @PathParam("nodeId") int nodeId);
+
+    default CompletionStage<ResponseResult<PipelineNodeLog>> pipelineNodeLog(String folderPath,
+                                                                             String jobName,
+                                                                             int buildNumber,
+                                                                             int nodeId)
+    {
+        CompletionStage<Response> response = (folderPath == null || folderPath.isEmpty())
+            ? rootPipelineNodeLog(jobName, buildNumber, nodeId)
+            : pipelineNodeLogInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, nodeId);
+        return response.thenApply(r -> of(r, PipelineNodeLog.class));
+    }
+}
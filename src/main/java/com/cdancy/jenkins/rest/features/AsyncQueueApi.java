@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
+
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.features.QueueApi.QueueItemsWrapper;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.FormParam;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link QueueApi}.
+ */
+@Path("/queue")
+@Consumes(MediaType.APPLICATION_JSON)
+public interface AsyncQueueApi
+{
+
+    @GET
+    @Path("/api/json")
+    CompletionStage<Response> queueRaw();
+
+    default CompletionStage<ResponseResult<List<QueueItem>>> queue()
+    {
+        return queueRaw().thenApply(response -> {
+            ResponseResult<QueueItemsWrapper> wrapperResult = ResponseResult.of(response, QueueItemsWrapper.class);
+            List<QueueItem> items = wrapperResult.getEntity() != null ? wrapperResult.getEntity().items : null;
+            return ResponseResult.of(response, items, wrapperResult.getError());
+        });
+    }
+
+    @GET
+    @Path("/item/{queueId}/api/json")
+    CompletionStage<Response> queueItemRaw(@PathParam("queueId") long queueId);
+
+    default CompletionStage<ResponseResult<QueueItem>> queueItem(long queueId)
+    {
+        return queueItemRaw(queueId).thenApply(response -> of(response, QueueItem.class));
+    }
+
+    @POST
+    @Path("/cancelItem")
+    @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
+    CompletionStage<Response> cancelRaw(@FormParam("id") long id);
+
+    default CompletionStage<ResponseResult<Void>> cancel(long id)
+    {
+        return cancelRaw(id).thenApply(ResponseResult::ofVoid);
+    }
+}
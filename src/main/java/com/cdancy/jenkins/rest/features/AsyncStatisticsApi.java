@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
+
+import com.cdancy.jenkins.rest.domain.statistics.OverallLoad;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * Non-blocking counterpart of {@link StatisticsApi}.
+ */
+@Path("/")
+@Consumes(MediaType.APPLICATION_JSON)
+public interface AsyncStatisticsApi {
+
+    @GET
+    @Path("/overallLoad/api/json")
+    CompletionStage<Response> overallLoadRaw();
+
+    /**
+     * Retrieve the overall system load without blocking the caller.
+     */
+    default CompletionStage<ResponseResult<OverallLoad>> overallLoad() {
+        return overallLoadRaw().thenApply(response -> of(response, OverallLoad.class));
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import jakarta.ws.rs.core.Form;
+import jakarta.ws.rs.core.Response;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Request and response helpers shared by {@link JobsApi} and {@link AsyncJobsApi}.
+ */
+final class JobPaths
+{
+    private JobPaths()
+    {
+    }
+
+    static ResponseResult<Long> extractBuildNumberResponse(Response response)
+    {
+        Long buildNumber = null;
+        String error = null;
+        String url = response.getHeaderString("Location");
+        if (url != null)
+        {
+            Matcher matcher = JobsApi.BUILD_QUEUE_PATTERN.matcher(url);
+            if (matcher.find() && matcher.groupCount() == 1)
+            {
+                buildNumber = Long.valueOf(matcher.group(1));
+            }
+        } else
+        {
+            error = "No queue item Location header could be found despite getting a valid HTTP response.";
+        }
+
+        return ResponseResult.of(response, buildNumber, error);
+    }
+
+    static Form toForm(Map<String, List<String>> params)
+    {
+        Form form = new Form();
+        if (params != null)
+        {
+            params.forEach((k, v) -> {
+                if (v != null && !v.isEmpty())
+                {
+                    v.forEach(val -> form.param(k, val));
+                } else
+                {
+                    form.param(k, "");
+                }
+            });
+        }
+        return form;
+    }
+}
@@ -17,11 +17,22 @@
 
 package com.cdancy.jenkins.rest.features;
 
+import static com.cdancy.jenkins.rest.JenkinsPaths.appendFolderPrefixIfNeeded;
+import static com.cdancy.jenkins.rest.features.JobPaths.extractBuildNumberResponse;
+import static com.cdancy.jenkins.rest.features.JobPaths.toForm;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofInt;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofProgressiveText;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofVoid;
 
+import com.cdancy.jenkins.rest.artifacts.ArchiveEntryHandler;
+import com.cdancy.jenkins.rest.artifacts.ArtifactArchive;
+import com.cdancy.jenkins.rest.artifacts.ArtifactGlob;
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
+import com.cdancy.jenkins.rest.config.ConfigXml;
+import com.cdancy.jenkins.rest.config.JobConfig;
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.job.Artifact;
 import com.cdancy.jenkins.rest.domain.job.BuildInfo;
 import com.cdancy.jenkins.rest.domain.job.JobInfo;
 import com.cdancy.jenkins.rest.domain.job.JobList;
@@ -29,24 +40,34 @@ import com.cdancy.jenkins.rest.domain.job.PipelineNode;
 import com.cdancy.jenkins.rest.domain.job.PipelineNodeLog;
 import com.cdancy.jenkins.rest.domain.job.ProgressiveText;
 import com.cdancy.jenkins.rest.domain.job.Workflow;
+import com.cdancy.jenkins.rest.inventory.JobInventory;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.Encoded;
 import jakarta.ws.rs.FormParam;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HEAD;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.ProcessingException;
 import jakarta.ws.rs.Produces;
 import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.Form;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.xml.stream.XMLStreamException;
 
 @Path("/")
 public interface JobsApi
@@ -65,6 +86,7 @@ public interface JobsApi
     @GET
     Response jobListInFolderRaw(@PathParam("folderPath") String folderPath);
 
+    @Idempotent
     default ResponseResult<JobList> jobList(String folderPath)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -73,6 +95,56 @@ public interface JobsApi
         return of(response, JobList.class);
     }
 
+    @Path("api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    Response jobListRaw(@QueryParam("depth") Integer depth, @QueryParam("tree") String tree);
+
+    @Path("/{folderPath}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    Response jobListInFolderRaw(@PathParam("folderPath") String folderPath,
+                                @QueryParam("depth") Integer depth,
+                                @QueryParam("tree") String tree);
+
+    @Idempotent
+    default ResponseResult<JobList> jobList(String folderPath, Projection<JobList> projection)
+    {
+        Integer depth = projection == null ? null : projection.depth();
+        String tree = projection == null ? null : projection.tree();
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? jobListRaw(depth, tree)
+            : jobListInFolderRaw(appendFolderPrefixIfNeeded(folderPath), depth, tree);
+        return of(response, JobList.class);
+    }
+
+    /**
+     * Full paths of every job up to {@code depthLimit} folder levels deep, fetched with a single nested
+     * {@code tree} request and parsed while it streams. The inventory holds the connection until exhausted
+     * or closed, close the result when stopping early.
+     */
+    default ResponseResult<JobInventory> jobInventory(int depthLimit)
+    {
+        return jobInventory(null, depthLimit);
+    }
+
+    default ResponseResult<JobInventory> jobInventory(String folderPath, int depthLimit)
+    {
+        return jobInventory(folderPath, depthLimit, false);
+    }
+
+    /**
+     * @param withLastBuild also fetch the last build number of every job, read through {@link JobInventory#summaries()}.
+     */
+    default ResponseResult<JobInventory> jobInventory(String folderPath, int depthLimit, boolean withLastBuild)
+    {
+        String tree = JobInventory.tree(depthLimit, withLastBuild);
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? jobListRaw(null, tree)
+            : jobListInFolderRaw(appendFolderPrefixIfNeeded(folderPath), null, tree);
+        return of(response, InputStream.class).map(json -> new JobInventory(json, folderPath));
+    }
+
     // for jobs directly under root
     @GET
     @Path("job/{name}/api/json")
@@ -86,6 +158,7 @@ public interface JobsApi
 
 
     // for jobs directly under root
+    @Idempotent
     default ResponseResult<JobInfo> jobInfo(String folderPath, String jobName)
     {
         ResponseResult<JobInfo> response = null;
@@ -100,6 +173,30 @@ public interface JobsApi
         return response;
     }
 
+    @GET
+    @Path("job/{name}/api/json")
+    Response jobInfoRaw(@PathParam("name") String jobName,
+                        @QueryParam("depth") Integer depth,
+                        @QueryParam("tree") String tree);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/api/json")
+    Response jobInfoInFolderRaw(@PathParam("folderPath") String folderPath,
+                                @PathParam("name") String jobName,
+                                @QueryParam("depth") Integer depth,
+                                @QueryParam("tree") String tree);
+
+    @Idempotent
+    default ResponseResult<JobInfo> jobInfo(String folderPath, String jobName, Projection<JobInfo> projection)
+    {
+        Integer depth = projection == null ? null : projection.depth();
+        String tree = projection == null ? null : projection.tree();
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? jobInfoRaw(jobName, depth, tree)
+            : jobInfoInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, depth, tree);
+        return of(response, JobInfo.class);
+    }
+
     @Path("job/{name}/{number}/api/json")
     @Consumes(MediaType.APPLICATION_JSON)
     @GET
@@ -114,6 +211,7 @@ public interface JobsApi
                                   @PathParam("name") String name,
                                   @PathParam("number") int number);
 
+    @Idempotent
     default ResponseResult<BuildInfo> buildInfo(String folderPath, String jobName, int buildNumber)
     {
         ResponseResult<BuildInfo> response = null;
@@ -128,6 +226,37 @@ public interface JobsApi
         return response;
     }
 
+    @Path("job/{name}/{number}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    Response buildInfoRaw(@PathParam("name") String name,
+                          @PathParam("number") int number,
+                          @QueryParam("depth") Integer depth,
+                          @QueryParam("tree") String tree);
+
+    @Path("/{folderPath}/job/{name}/{number}/api/json")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @GET
+    Response buildInfoInFolderRaw(@PathParam("folderPath") String folderPath,
+                                  @PathParam("name") String name,
+                                  @PathParam("number") int number,
+                                  @QueryParam("depth") Integer depth,
+                                  @QueryParam("tree") String tree);
+
+    @Idempotent
+    default ResponseResult<BuildInfo> buildInfo(String folderPath,
+                                                String jobName,
+                                                int buildNumber,
+                                                Projection<BuildInfo> projection)
+    {
+        Integer depth = projection == null ? null : projection.depth();
+        String tree = projection == null ? null : projection.tree();
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? buildInfoRaw(jobName, buildNumber, depth, tree)
+            : buildInfoInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, depth, tree);
+        return of(response, BuildInfo.class);
+    }
+
     @GET
     @Path("job/{name}/{number}/artifact/{relativeArtifactPath}")
     @Consumes(MediaType.WILDCARD)
@@ -168,6 +297,140 @@ public interface JobsApi
         return response;
     }
 
+    @HEAD
+    @Path("job/{name}/{number}/artifact/{relativeArtifactPath}")
+    Response artifactHeadRaw(@PathParam("name") String jobName,
+                             @PathParam("number") int buildNumber,
+                             @PathParam("relativeArtifactPath") String relativeArtifactPath);
+
+    @HEAD
+    @Path("/{folderPath}/job/{name}/{number}/artifact/{relativeArtifactPath}")
+    Response artifactHeadInFolderRaw(@PathParam("folderPath") String folderPath,
+                                     @PathParam("name") String jobName,
+                                     @PathParam("number") int buildNumber,
+                                     @PathParam("relativeArtifactPath") String relativeArtifactPath);
+
+    /**
+     * Headers of an artifact (length, {@code Accept-Ranges}, validators) without its content.
+     * The caller must close the response.
+     */
+    default Response artifactHeadRaw(String folderPath, String jobName, int buildNumber, String relativeArtifactPath)
+    {
+        return (folderPath == null || folderPath.isEmpty())
+            ? artifactHeadRaw(jobName, buildNumber, relativeArtifactPath)
+            : artifactHeadInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, relativeArtifactPath);
+    }
+
+    @GET
+    @Path("job/{name}/{number}/artifact/{relativeArtifactPath}")
+    @Consumes(MediaType.WILDCARD)
+    Response artifactRangeRaw(@PathParam("name") String jobName,
+                              @PathParam("number") int buildNumber,
+                              @PathParam("relativeArtifactPath") String relativeArtifactPath,
+                              @HeaderParam("Range") String range);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/artifact/{relativeArtifactPath}")
+    @Consumes(MediaType.WILDCARD)
+    Response artifactRangeInFolderRaw(@PathParam("folderPath") String folderPath,
+                                      @PathParam("name") String jobName,
+                                      @PathParam("number") int buildNumber,
+                                      @PathParam("relativeArtifactPath") String relativeArtifactPath,
+                                      @HeaderParam("Range") String range);
+
+    /**
+     * Bytes {@code from} to {@code to}, both inclusive, of an artifact. A negative {@code to} reads up to its end.
+     * Expect a 206 when the range was honoured, the caller streams the entity and must close the response.
+     */
+    default Response artifactRangeRaw(String folderPath, String jobName, int buildNumber, String relativeArtifactPath,
+                                      long from, long to)
+    {
+        String range = "bytes=" + from + "-" + (to < 0 ? "" : String.valueOf(to));
+        return (folderPath == null || folderPath.isEmpty())
+            ? artifactRangeRaw(jobName, buildNumber, relativeArtifactPath, range)
+            : artifactRangeInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, relativeArtifactPath, range);
+    }
+
+    /**
+     * Artifacts of a build whose relative path matches an Ant style glob, fetched with a
+     * {@code tree=artifacts[fileName,relativePath]} projection.
+     *
+     * @param glob e.g. {@code target/*.jar, reports/**}, null for every artifact.
+     */
+    @Idempotent
+    default ResponseResult<List<Artifact>> artifacts(String folderPath, String jobName, int buildNumber, String glob)
+    {
+        return artifacts(folderPath, jobName, buildNumber, ArtifactGlob.compile(glob));
+    }
+
+    @Idempotent
+    default ResponseResult<List<Artifact>> artifacts(String folderPath, String jobName, int buildNumber, ArtifactGlob glob)
+    {
+        Projection<BuildInfo> projection = Projection.of(BuildInfo.class).fields("artifacts[fileName,relativePath]");
+        return buildInfo(folderPath, jobName, buildNumber, projection).map(build -> build.getArtifacts() == null
+            ? List.of()
+            : build.getArtifacts().stream().filter(artifact -> glob.matches(artifact.getRelativePath())).toList());
+    }
+
+    /**
+     * Every artifact of a build, or only those below the directory {@code subPath}, as one zip that
+     * Jenkins builds while sending it. The caller streams the entity and must close the response.
+     */
+    default Response artifactArchiveRaw(String folderPath, String jobName, int buildNumber, String subPath)
+    {
+        String archivePath = ArtifactArchive.archivePath(subPath);
+        return (folderPath == null || folderPath.isEmpty())
+            ? artifactRaw(jobName, buildNumber, archivePath)
+            : artifactInFolderRaw(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, archivePath);
+    }
+
+    /**
+     * Downloads the artifacts below {@code subPath} in a single request and unpacks them on the fly
+     * into {@code targetDirectory}, at their artifact relative paths.
+     *
+     * @return the number of files written.
+     */
+    default ResponseResult<Long> extractArtifacts(String folderPath, String jobName, int buildNumber, String subPath,
+                                                  java.nio.file.Path targetDirectory)
+    {
+        return unpackArtifacts(folderPath, jobName, buildNumber, subPath, targetDirectory, null);
+    }
+
+    /**
+     * Downloads the artifacts below {@code subPath} in a single request and hands them one by one to the handler
+     * as they are unpacked, nothing is buffered beyond the current entry.
+     *
+     * @return the number of files handled.
+     */
+    default ResponseResult<Long> forEachArtifact(String folderPath, String jobName, int buildNumber, String subPath,
+                                                 ArchiveEntryHandler handler)
+    {
+        return unpackArtifacts(folderPath, jobName, buildNumber, subPath, null, handler);
+    }
+
+    private ResponseResult<Long> unpackArtifacts(String folderPath, String jobName, int buildNumber, String subPath,
+                                                 java.nio.file.Path targetDirectory, ArchiveEntryHandler handler)
+    {
+        Response response = artifactArchiveRaw(folderPath, jobName, buildNumber, subPath);
+        if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+        {
+            return of(response, Long.class);
+        }
+
+        Long files = null;
+        String error = null;
+        try (InputStream archive = response.readEntity(InputStream.class))
+        {
+            files = targetDirectory != null
+                ? ArtifactArchive.extract(archive, subPath, targetDirectory)
+                : ArtifactArchive.forEach(archive, subPath, handler);
+        } catch (IOException | ProcessingException e)
+        {
+            error = "Failed to unpack artifacts: " + e.getMessage();
+        }
+        return of(response, files, error);
+    }
+
     @POST
     @Path("createItem")
     @Produces(MediaType.APPLICATION_XML)
@@ -201,42 +464,40 @@ public interface JobsApi
         return response;
     }
 
-    private static String appendFolderPrefixIfNeeded(String folderPath)
+    @POST
+    @Path("createItem")
+    @Produces(MediaType.APPLICATION_XML)
+    @Consumes(MediaType.APPLICATION_XML)
+    Response createRootJob(@QueryParam("name") String jobName, InputStream configXML);
+
+    @POST
+    @Path("/{folderPath}/createItem")
+    @Produces(MediaType.APPLICATION_XML)
+    @Consumes(MediaType.APPLICATION_XML)
+    Response createJobInFolder(@PathParam("folderPath") String folderPath,
+                               @QueryParam("name") String jobName,
+                               InputStream configXML);
+
+    /**
+     * Same as {@link #create(String, String, String)} with the config.xml streamed from {@code configXML},
+     * which is left open.
+     */
+    default ResponseResult<Void> create(String folderPath, String jobName, InputStream configXML)
     {
-        String[] split = folderPath.split("/");
-        StringBuilder path = new StringBuilder();
-        boolean skipAppendNext = false;
-        for (int index = 0; index < split.length; index++)
-        {
-            var currentSegment = split[index];
-            if (currentSegment.isEmpty()) {
-                continue;
-            }
-            if ("job".equals(currentSegment))
-            {
-                skipAppendNext = true;
-            } else if (!skipAppendNext)
-            {
-                currentSegment = "job/" + currentSegment;
-            } else
-            {
-                skipAppendNext = false;
-            }
-
-            if (index != split.length - 1)
-            {
-                currentSegment += "/";
-            }
-
-            path.append(currentSegment);
-        }
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? createRootJob(jobName, configXML)
+            : createJobInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, configXML);
+        return ofVoid(response);
+    }
 
-        if (path.isEmpty())
+    default ResponseResult<Void> create(String folderPath, String jobName, java.nio.file.Path configXML)
+    {
+        try (InputStream config = Files.newInputStream(configXML))
         {
-            return "job/" + folderPath;
-        } else
+            return create(folderPath, jobName, config);
+        } catch (IOException e)
         {
-            return path.toString();
+            throw new UncheckedIOException(e);
         }
     }
 
@@ -250,6 +511,7 @@ public interface JobsApi
     @Consumes(MediaType.TEXT_PLAIN)
     Response getJobConfigInFolder(@PathParam("folderPath") String folderPath, @PathParam("name") String jobName);
 
+    @Idempotent
     default ResponseResult<String> config(String folderPath, String jobName)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -279,6 +541,121 @@ public interface JobsApi
         return ofVoid(response);
     }
 
+    @POST
+    @Path("job/{name}/config.xml")
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_XML)
+    Response updateRootJobConfig(@PathParam("name") String jobName, InputStream configXML);
+
+    @POST
+    @Path("/{folderPath}/job/{name}/config.xml")
+    @Consumes(MediaType.APPLICATION_XML)
+    @Produces(MediaType.APPLICATION_XML)
+    Response updateJobConfigInFolder(@PathParam("folderPath") String folderPath, @PathParam("name") String jobName,
+                                     InputStream configXML);
+
+    /**
+     * Same as {@link #config(String, String, String)} with the config.xml streamed from {@code configXML},
+     * which is left open.
+     */
+    default ResponseResult<Void> config(String folderPath, String jobName, InputStream configXML)
+    {
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? updateRootJobConfig(jobName, configXML)
+            : updateJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, configXML);
+        return ofVoid(response);
+    }
+
+    default ResponseResult<Void> config(String folderPath, String jobName, java.nio.file.Path configXML)
+    {
+        try (InputStream config = Files.newInputStream(configXML))
+        {
+            return config(folderPath, jobName, config);
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * The config.xml as it downloads, close the result or the stream when done.
+     */
+    default ResponseResult<InputStream> configStream(String folderPath, String jobName)
+    {
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? getRootJobConfig(jobName)
+            : getJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        return of(response, InputStream.class);
+    }
+
+    /**
+     * The config.xml as it downloads, decoded as UTF-8 like Jenkins writes it. Close the result or the reader when done.
+     */
+    default ResponseResult<Reader> configReader(String folderPath, String jobName)
+    {
+        return configStream(folderPath, jobName).map(config -> new InputStreamReader(config, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Text of one element of the config.xml, read with StAX and without parsing past it. The rest of the body is
+     * still read off the connection when the stream closes, so that the connection can be reused.
+     *
+     * @param elementPath e.g. {@code /project/disabled}, see {@link ConfigXml#element(InputStream, String)}.
+     * @return a null entity when the element is missing.
+     */
+    default ResponseResult<String> configElement(String folderPath, String jobName, String elementPath)
+    {
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? getRootJobConfig(jobName)
+            : getJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+        {
+            return of(response, String.class);
+        }
+
+        String value = null;
+        String error = null;
+        try (InputStream config = response.readEntity(InputStream.class))
+        {
+            value = ConfigXml.element(config, elementPath);
+        } catch (IOException | XMLStreamException | ProcessingException e)
+        {
+            error = "Failed to read " + elementPath + ": " + e.getMessage();
+        }
+        return of(response, value, error);
+    }
+
+    /**
+     * The config.xml as a {@link JobConfig}, parsed on first access and edited in place. Not coalesced: every
+     * caller gets an instance of its own to edit.
+     */
+    default ResponseResult<JobConfig> jobConfig(String folderPath, String jobName)
+    {
+        Response response = (folderPath == null || folderPath.isEmpty())
+            ? getRootJobConfig(jobName)
+            : getJobConfigInFolder(appendFolderPrefixIfNeeded(folderPath), jobName);
+        if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+        {
+            return of(response, JobConfig.class);
+        }
+
+        JobConfig config = null;
+        String error = null;
+        try (Reader reader = new InputStreamReader(response.readEntity(InputStream.class), StandardCharsets.UTF_8))
+        {
+            config = JobConfig.of(reader);
+        } catch (IOException | ProcessingException e)
+        {
+            error = "Failed to read config.xml: " + e.getMessage();
+        }
+        return of(response, config, error);
+    }
+
+    default ResponseResult<Void> config(String folderPath, String jobName, JobConfig config)
+    {
+        return config(folderPath, jobName, config.xml());
+    }
+
     @GET
     @Path("job/{name}/description")
     @Consumes(MediaType.TEXT_PLAIN)
@@ -289,6 +666,7 @@ public interface JobsApi
     @Consumes(MediaType.TEXT_PLAIN)
     Response getJobDescriptionInFolder(@PathParam("folderPath") String folderPath, @PathParam("name") String jobName);
 
+    @Idempotent
     default ResponseResult<String> description(String folderPath, String jobName)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -391,26 +769,6 @@ public interface JobsApi
         return extractBuildNumberResponse(response);
     }
 
-    private static ResponseResult<Long> extractBuildNumberResponse(Response response)
-    {
-        Long buildNumber = null;
-        String error = null;
-        String url = response.getHeaderString("Location");
-        if (url != null)
-        {
-            Matcher matcher = BUILD_QUEUE_PATTERN.matcher(url);
-            if (matcher.find() && matcher.groupCount() == 1)
-            {
-                buildNumber = Long.valueOf(matcher.group(1));
-            }
-        } else
-        {
-            error = "No queue item Location header could be found despite getting a valid HTTP response.";
-        }
-
-        return ResponseResult.of(response, buildNumber, error);
-    }
-
 
     @POST
     @Path("job/{name}/buildWithParameters")
@@ -428,20 +786,7 @@ public interface JobsApi
                                                      String jobName,
                                                      Map<String, List<String>> params)
     {
-        Form form = new Form();
-        if (params != null)
-        {
-            params.forEach((k, v) -> {
-                if (v != null && !v.isEmpty())
-                {
-                    v.forEach(val -> form.param(k, val));
-                } else
-                {
-                    form.param(k, "");
-                }
-            });
-        }
-
+        Form form = toForm(params);
         Response response = (folderPath == null || folderPath.isEmpty())
             ? buildRootJobWithParameters(jobName, form)
             : buildJobWithParametersInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, form);
@@ -519,6 +864,7 @@ public interface JobsApi
     Response lastBuildNumberInFolder(@PathParam("folderPath") String folderPath,
                                      @PathParam("name") String jobName);
 
+    @Idempotent
     default ResponseResult<Integer> lastBuildNumber(String folderPath, String jobName)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -539,6 +885,7 @@ public interface JobsApi
     Response lastBuildTimestampInFolder(@PathParam("folderPath") String folderPath,
                                         @PathParam("name") String jobName);
 
+    @Idempotent
     default ResponseResult<String> lastBuildTimestamp(String folderPath, String jobName)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -559,6 +906,7 @@ public interface JobsApi
                                      @PathParam("name") String jobName,
                                      @QueryParam("start") int start);
 
+    @Idempotent
     default ResponseResult<ProgressiveText> progressiveText(String folderPath, String jobName, int start)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -582,6 +930,7 @@ public interface JobsApi
                                           @PathParam("number") int buildNumber,
                                           @QueryParam("start") int start);
 
+    @Idempotent
     default ResponseResult<ProgressiveText> progressiveText(String folderPath,
                                                             String jobName,
                                                             int buildNumber,
@@ -593,6 +942,33 @@ public interface JobsApi
         return ofProgressiveText(response);
     }
 
+    @GET
+    @Path("job/{name}/{number}/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    Response progressiveRootBuildLog(@PathParam("name") String jobName,
+                                     @PathParam("number") int buildNumber,
+                                     @QueryParam("start") long start);
+
+    @GET
+    @Path("/{folderPath}/job/{name}/{number}/logText/progressiveText")
+    @Consumes(MediaType.TEXT_PLAIN)
+    Response progressiveBuildLogInFolder(@PathParam("folderPath") String folderPath,
+                                         @PathParam("name") String jobName,
+                                         @PathParam("number") int buildNumber,
+                                         @QueryParam("start") long start);
+
+    /**
+     * Unparsed variant of {@link #progressiveText(String, String, int, int)} taking a long offset.
+     * The caller streams the entity, reads the {@code X-Text-Size} and {@code X-More-Data} headers
+     * and must close the response, see {@link com.cdancy.jenkins.rest.logs.LogTailer}.
+     */
+    default Response progressiveLogRaw(String folderPath, String jobName, int buildNumber, long start)
+    {
+        return (folderPath == null || folderPath.isEmpty())
+            ? progressiveRootBuildLog(jobName, buildNumber, start)
+            : progressiveBuildLogInFolder(appendFolderPrefixIfNeeded(folderPath), jobName, buildNumber, start);
+    }
+
     @POST
     @Path("job/{name}/doRename")
     @Consumes(MediaType.APPLICATION_FORM_URLENCODED)
@@ -626,6 +1002,7 @@ public interface JobsApi
     Response runHistoryInFolder(@PathParam("folderPath") String folderPath,
                                 @PathParam("name") String jobName);
 
+    @Idempotent
     default ResponseResult<List<Workflow>> runHistory(String folderPath, String jobName)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -646,6 +1023,7 @@ public interface JobsApi
                               @PathParam("name") String jobName,
                               @PathParam("number") int buildNumber);
 
+    @Idempotent
     default ResponseResult<Workflow> workflow(String folderPath, String jobName, int buildNumber)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -670,6 +1048,7 @@ public interface JobsApi
                                   @PathParam("number") int buildNumber,
                                   @PathParam("nodeId") int nodeId);
 
+    @Idempotent
     default ResponseResult<PipelineNode> pipelineNode(String folderPath, String jobName, int buildNumber, int nodeId)
     {
         Response response = (folderPath == null || folderPath.isEmpty())
@@ -693,6 +1072,7 @@ public interface JobsApi
                                      @PathParam("number") int buildNumber,
                                      @PathParam("nodeId") int nodeId);
 
+    @Idempotent
     default ResponseResult<PipelineNodeLog> pipelineNodeLog(String folderPath,
                                                             String jobName,
                                                             int buildNumber,
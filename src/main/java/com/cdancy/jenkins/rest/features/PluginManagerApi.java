@@ -20,6 +20,7 @@ package com.cdancy.jenkins.rest.features;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofVoid;
 
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
 import com.cdancy.jenkins.rest.domain.plugins.Plugins;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
 import jakarta.ws.rs.Consumes;
@@ -41,6 +42,7 @@ public interface PluginManagerApi {
                                     @QueryParam("tree") String tree);
 
 
+    @Idempotent
     default ResponseResult<Plugins> plugins(Integer depth, String tree) {
         Response response = pluginsRaw(depth, tree);
         return of(response, Plugins.class);
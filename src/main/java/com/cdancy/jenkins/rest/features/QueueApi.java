@@ -82,6 +82,8 @@ package com.cdancy.jenkins.rest.features;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofVoid;
 
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
+import com.cdancy.jenkins.rest.domain.common.Projection;
 import com.cdancy.jenkins.rest.domain.queue.QueueItem;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
@@ -91,6 +93,7 @@ import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import java.util.List;
@@ -111,6 +114,7 @@ public interface QueueApi
     @Path("/api/json")
     Response queueRaw();
 
+    @Idempotent
     default ResponseResult<List<QueueItem>> queue()
     {
         Response response = queueRaw();
@@ -119,10 +123,29 @@ public interface QueueApi
         return ResponseResult.of(response, items, wrapperResult.getError());
     }
 
+    @GET
+    @Path("/api/json")
+    Response queueRaw(@QueryParam("depth") Integer depth, @QueryParam("tree") String tree);
+
+    /**
+     * @param itemProjection fields of each queue item to return, the whole items otherwise.
+     */
+    @Idempotent
+    default ResponseResult<List<QueueItem>> queue(Projection<QueueItem> itemProjection)
+    {
+        Integer depth = itemProjection == null ? null : itemProjection.depth();
+        String tree = itemProjection == null || itemProjection.tree() == null ? null : "items[" + itemProjection.tree() + "]";
+        Response response = queueRaw(depth, tree);
+        ResponseResult<QueueItemsWrapper> wrapperResult = ResponseResult.of(response, QueueItemsWrapper.class);
+        List<QueueItem> items = wrapperResult.getEntity() != null ? wrapperResult.getEntity().items : null;
+        return ResponseResult.of(response, items, wrapperResult.getError());
+    }
+
     @GET
     @Path("/item/{queueId}/api/json")
     Response queueItemRaw(@PathParam("queueId") long queueId);
 
+    @Idempotent
     default ResponseResult<QueueItem> queueItem(long queueId)
     {
         Response response = queueItemRaw(queueId);
@@ -19,13 +19,19 @@ package com.cdancy.jenkins.rest.features;
 
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
 
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
 import com.cdancy.jenkins.rest.domain.statistics.OverallLoad;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.GET;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.QueryParam;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 @Path("/")
 @Consumes(MediaType.APPLICATION_JSON)
@@ -38,8 +44,39 @@ public interface StatisticsApi {
     /**
      * Default helper to retrieve overall system load with functional-style response.
      */
+    @Idempotent
     default ResponseResult<OverallLoad> overallLoad() {
         Response response = overallLoadRaw();
         return of(response, OverallLoad.class);
     }
+
+    @GET
+    @Path("/overallLoad/api/json")
+    Response overallLoadRaw(@QueryParam("tree") String tree);
+
+    /**
+     * Latest ten second average of the given statistics, e.g. {@code queueLength} or {@code availableExecutors}.
+     * Jenkins leaves the time series out of {@link #overallLoad()}, they only come with an explicit tree.
+     *
+     * Takes a list rather than varargs so that concurrent identical calls compare equal and coalesce.
+     *
+     * @return the statistics that had a value, in the requested order.
+     */
+    @Idempotent
+    default ResponseResult<Map<String, Double>> latestLoad(List<String> statistics) {
+        StringBuilder tree = new StringBuilder();
+        for (String statistic : statistics) {
+            tree.append(tree.length() == 0 ? "" : ",").append(statistic).append("[sec10[latest]]");
+        }
+        return of(overallLoadRaw(tree.toString()), JsonNode.class).map(load -> {
+            Map<String, Double> latest = new LinkedHashMap<>();
+            for (String statistic : statistics) {
+                JsonNode value = load.path(statistic).path("sec10").path("latest");
+                if (value.isNumber()) {
+                    latest.put(statistic, value.asDouble());
+                }
+            }
+            return latest;
+        });
+    }
 }
@@ -21,6 +21,7 @@ import static com.cdancy.jenkins.rest.parsers.ResponseResult.of;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofSystemInfo;
 import static com.cdancy.jenkins.rest.parsers.ResponseResult.ofVoid;
 
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
 import com.cdancy.jenkins.rest.domain.system.SystemInfo;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
 
@@ -46,6 +47,7 @@ public interface SystemApi {
     /**
      * Functional helper that parses Jenkins system info headers into a SystemInfo domain object.
      */
+    @Idempotent
     default ResponseResult<SystemInfo> systemInfo() {
         Response response = systemInfoRaw();
         return ofSystemInfo(response);
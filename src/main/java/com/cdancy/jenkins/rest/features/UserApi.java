@@ -17,6 +17,7 @@
 
 package com.cdancy.jenkins.rest.features;
 
+import com.cdancy.jenkins.rest.coalesce.Idempotent;
 import com.cdancy.jenkins.rest.domain.user.ApiToken;
 import com.cdancy.jenkins.rest.domain.user.User;
 import com.cdancy.jenkins.rest.parsers.ResponseResult;
@@ -45,6 +46,7 @@ public interface UserApi {
     @Path("/{user}/api/json")
     Response getRaw(@PathParam("user") String user);
 
+    @Idempotent
     default ResponseResult<User> get() {
         return of(getRaw(CURRENT_USER), User.class);
     }
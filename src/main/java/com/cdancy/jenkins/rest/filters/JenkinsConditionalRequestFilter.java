@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.filters;
+
+import com.cdancy.jenkins.rest.cache.ConditionalResponseCache;
+import jakarta.ws.rs.HttpMethod;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientRequestFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.ext.Provider;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Turns GETs of previously cached responses into conditional requests by sending their
+ * {@code If-None-Match} / {@code If-Modified-Since} validators.
+ * The matched entry travels with the request so that {@link JenkinsConditionalResponseFilter}
+ * can still answer a 304 if the entry got evicted in the meantime.
+ */
+@Provider
+public class JenkinsConditionalRequestFilter implements ClientRequestFilter
+{
+    static final String CACHE_KEY_PROPERTY = JenkinsConditionalRequestFilter.class.getName() + ".key";
+    static final String CACHE_ENTRY_PROPERTY = JenkinsConditionalRequestFilter.class.getName() + ".entry";
+    static final String CACHE_VALIDATORS_PROPERTY = JenkinsConditionalRequestFilter.class.getName() + ".validators";
+
+    private final ConditionalResponseCache cache;
+
+    public JenkinsConditionalRequestFilter(ConditionalResponseCache cache)
+    {
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext) throws IOException
+    {
+        if (!isCacheable(requestContext))
+        {
+            return;
+        }
+
+        String key = requestContext.getUri().toString();
+        requestContext.setProperty(CACHE_KEY_PROPERTY, key);
+
+        ConditionalResponseCache.Entry entry = cache.get(key);
+        if (entry != null)
+        {
+            if (entry.etag() != null)
+            {
+                requestContext.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, entry.etag());
+            }
+            if (entry.lastModified() != null)
+            {
+                requestContext.getHeaders().putSingle(HttpHeaders.IF_MODIFIED_SINCE, entry.lastModified());
+            }
+            requestContext.setProperty(CACHE_ENTRY_PROPERTY, entry);
+        }
+    }
+
+    private static boolean isCacheable(ClientRequestContext requestContext)
+    {
+        // ranged reads and caller supplied validators are left alone
+        return HttpMethod.GET.equals(requestContext.getMethod())
+            && !requestContext.getHeaders().containsKey("Range")
+            && !requestContext.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+            && !requestContext.getHeaders().containsKey(HttpHeaders.IF_MODIFIED_SINCE);
+    }
+}
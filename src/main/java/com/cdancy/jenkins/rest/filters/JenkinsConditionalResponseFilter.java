@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.filters;
+
+import static com.cdancy.jenkins.rest.filters.JenkinsConditionalRequestFilter.CACHE_ENTRY_PROPERTY;
+import static com.cdancy.jenkins.rest.filters.JenkinsConditionalRequestFilter.CACHE_KEY_PROPERTY;
+import static com.cdancy.jenkins.rest.filters.JenkinsConditionalRequestFilter.CACHE_VALIDATORS_PROPERTY;
+
+import com.cdancy.jenkins.rest.cache.ConditionalResponseCache;
+import jakarta.ws.rs.client.ClientRequestContext;
+import jakarta.ws.rs.client.ClientResponseContext;
+import jakarta.ws.rs.client.ClientResponseFilter;
+import jakarta.ws.rs.core.HttpHeaders;
+import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.ext.Provider;
+import jakarta.ws.rs.ext.ReaderInterceptor;
+import jakarta.ws.rs.ext.ReaderInterceptorContext;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.SequenceInputStream;
+import java.util.Objects;
+
+/**
+ * Response side of the conditional GET cache:
+ *  - rewrites a 304 into a 200 replaying the cached body
+ *  - as a ReaderInterceptor, stores bodies of successful GETs carrying an ETag or Last-Modified
+ *    header once they are read as a deserialized entity, entities read as an {@link InputStream}
+ *    or {@link Reader} keep streaming and are never buffered
+ *  - hands out the entity already deserialized from a cached body instead of parsing it again
+ * <p>
+ * Jenkins answers {@code api/json} and {@code api/xml} without any validator, so those responses
+ * are never cached and always transferred in full.
+ */
+@Provider
+public class JenkinsConditionalResponseFilter implements ClientResponseFilter, ReaderInterceptor
+{
+    private final ConditionalResponseCache cache;
+
+    public JenkinsConditionalResponseFilter(ConditionalResponseCache cache)
+    {
+        this.cache = Objects.requireNonNull(cache, "cache");
+    }
+
+    @Override
+    public void filter(ClientRequestContext requestContext, ClientResponseContext responseContext) throws IOException
+    {
+        String key = (String) requestContext.getProperty(CACHE_KEY_PROPERTY);
+        if (key == null)
+        {
+            return;
+        }
+
+        ConditionalResponseCache.Entry entry = (ConditionalResponseCache.Entry) requestContext.getProperty(CACHE_ENTRY_PROPERTY);
+        if (responseContext.getStatus() == Response.Status.NOT_MODIFIED.getStatusCode() && entry != null)
+        {
+            cache.recordHit();
+            responseContext.setStatus(Response.Status.OK.getStatusCode());
+            if (entry.contentType() != null)
+            {
+                responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_TYPE, entry.contentType());
+            }
+            responseContext.getHeaders().putSingle(HttpHeaders.CONTENT_LENGTH, String.valueOf(entry.body().length));
+            responseContext.setEntityStream(new ByteArrayInputStream(entry.body()));
+            return;
+        }
+
+        // from here on the body is not the cached one, the property must not pair them anymore
+        requestContext.removeProperty(CACHE_ENTRY_PROPERTY);
+        if (responseContext.getStatus() != Response.Status.OK.getStatusCode())
+        {
+            return;
+        }
+        cache.recordMiss();
+        cache.remove(key);
+
+        String etag = responseContext.getHeaderString(HttpHeaders.ETAG);
+        String lastModified = responseContext.getHeaderString(HttpHeaders.LAST_MODIFIED);
+        if ((etag == null && lastModified == null) || !responseContext.hasEntity()
+            || responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING)
+            || responseContext.getLength() > cache.maxEntrySizeBytes())
+        {
+            return;
+        }
+
+        // the body is only buffered once the entity type is known, see aroundReadFrom(...)
+        requestContext.setProperty(CACHE_VALIDATORS_PROPERTY, new Validators(key, etag, lastModified,
+            responseContext.getHeaderString(HttpHeaders.CONTENT_TYPE)));
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException
+    {
+        // interceptor properties are the ones of the request, see filter(...)
+        ConditionalResponseCache.Entry entry = context.getProperty(CACHE_ENTRY_PROPERTY) instanceof ConditionalResponseCache.Entry cached
+            ? cached
+            : null;
+        if (context.getProperty(CACHE_VALIDATORS_PROPERTY) instanceof Validators validators)
+        {
+            context.removeProperty(CACHE_VALIDATORS_PROPERTY);
+            entry = isStreamed(context.getType()) ? null : store(context, validators);
+        }
+        if (entry == null)
+        {
+            return context.proceed();
+        }
+
+        Object entity = entry.entity(context.getType());
+        if (entity != null)
+        {
+            return entity;
+        }
+
+        entity = context.proceed();
+        if (entity != null && !isStreamed(context.getType()))
+        {
+            entry.entity(context.getType(), entity);
+        }
+        return entity;
+    }
+
+    // buffer at most one entry worth of body, anything larger keeps streaming uncached
+    private ConditionalResponseCache.Entry store(ReaderInterceptorContext context, Validators validators) throws IOException
+    {
+        InputStream entityStream = context.getInputStream();
+        int limit = (int) Math.min(cache.maxEntrySizeBytes(), Integer.MAX_VALUE - 8);
+        byte[] body = entityStream.readNBytes(limit + 1);
+        if (body.length > limit)
+        {
+            context.setInputStream(new SequenceInputStream(new ByteArrayInputStream(body), entityStream));
+            return null;
+        }
+
+        ConditionalResponseCache.Entry stored = new ConditionalResponseCache.Entry(validators.key(), validators.etag(),
+            validators.lastModified(), validators.contentType(), body);
+        cache.put(stored);
+        context.setProperty(CACHE_ENTRY_PROPERTY, stored);
+        context.setInputStream(new ByteArrayInputStream(body));
+        return stored;
+    }
+
+    private static boolean isStreamed(Class<?> type)
+    {
+        return InputStream.class.isAssignableFrom(type) || Reader.class.isAssignableFrom(type);
+    }
+
+    private record Validators(String key, String etag, String lastModified, String contentType)
+    {
+    }
+}
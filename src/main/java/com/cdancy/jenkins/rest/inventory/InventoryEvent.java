@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.inventory;
+
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import java.util.Objects;
+
+/**
+ * A difference between two {@link InventorySync} cycles.
+ *
+ * @param kind     what happened to the job.
+ * @param path     full path of the job.
+ * @param previous state before the cycle, null when added.
+ * @param current  state after the cycle, null when removed.
+ * @param jobInfo  full description fetched for changed jobs, null otherwise or when it could not be fetched.
+ */
+public record InventoryEvent(Kind kind, String path, InventoryEntry previous, InventoryEntry current, JobInfo jobInfo)
+{
+    public enum Kind
+    {
+        ADDED, REMOVED, CHANGED
+    }
+
+    /**
+     * @return true when both states carry a config hash and they differ.
+     */
+    public boolean configChanged()
+    {
+        return previous != null && current != null && previous.configHash() != null && current.configHash() != null
+            && !Objects.equals(previous.configHash(), current.configHash());
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.inventory;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a local index of the jobs below a folder up to date, one {@link #sync(Consumer)} call at a time.
+ * <p>
+ * A cycle costs a single {@link JobsApi#jobInventory(String, int, boolean)} request returning color and
+ * last build number of every job. Only jobs whose summary differs from the previous cycle get their full
+ * {@code jobInfo} and {@code config.xml} fetched, the latter being kept as a hash. Added jobs get their config
+ * hashed as well, fetched up to 8 at once on virtual threads so that a first cycle over a large instance does not
+ * wait on one request after the other. Since an edit of the config alone leaves the summary as it was, every cycle
+ * also re-hashes the configs of {@code configChecksPerCycle} unchanged jobs, the least recently checked first: such
+ * an edit is reported as a change within {@code jobs / configChecksPerCycle} cycles. Jobs that disappear are
+ * reported once the whole inventory was read, a cycle interrupted by an error reports no removal.
+ */
+public final class InventorySync
+{
+    private static final int CONFIG_FETCH_PARALLELISM = 8;
+
+    private final JobsApi jobsApi;
+    private final String rootFolder;
+    private final int depthLimit;
+    private final int configChecksPerCycle;
+    private final Map<String, InventoryEntry> index = new HashMap<>();
+    // paths in the order their config was last hashed, the head is checked next
+    private final Deque<String> configChecks = new ArrayDeque<>();
+
+    /**
+     * Re-hashes the configs of 20 unchanged jobs per cycle.
+     *
+     * @param rootFolder folder to index, null or empty for the whole instance.
+     * @param depthLimit levels of folders to expand.
+     */
+    public InventorySync(JobsApi jobsApi, String rootFolder, int depthLimit)
+    {
+        this(jobsApi, rootFolder, depthLimit, 20);
+    }
+
+    /**
+     * @param configChecksPerCycle unchanged jobs whose config is fetched again every cycle, 0 to only detect config
+     *                             edits that come with a new build or color.
+     */
+    public InventorySync(JobsApi jobsApi, String rootFolder, int depthLimit, int configChecksPerCycle)
+    {
+        if (depthLimit <= 0 || configChecksPerCycle < 0)
+        {
+            throw new IllegalArgumentException("Expected depthLimit > 0 and configChecksPerCycle >= 0");
+        }
+        this.jobsApi = jobsApi;
+        this.rootFolder = rootFolder;
+        this.depthLimit = depthLimit;
+        this.configChecksPerCycle = configChecksPerCycle;
+    }
+
+    /**
+     * Runs one cycle, the first one reports every job as added.
+     *
+     * @param listener receives the events in order: additions, then changes, then removals.
+     * @return the number of events.
+     * @throws IOException when the inventory cannot be fetched or read, the index is then left as it was.
+     */
+    public synchronized int sync(Consumer<InventoryEvent> listener) throws IOException
+    {
+        Set<String> seen = new HashSet<>(index.size() * 2);
+        List<JobSummary> added = new ArrayList<>();
+        List<Change> changed = new ArrayList<>();
+        int events = 0;
+
+        try (ResponseResult<JobInventory> inventory = jobsApi.jobInventory(rootFolder, depthLimit, true))
+        {
+            if (!inventory.isSuccess() || inventory.getEntity() == null)
+            {
+                throw new IOException("Could not fetch the job inventory (" + inventory.getStatus() + "): "
+                    + inventory.getError());
+            }
+            Iterator<JobSummary> summaries = inventory.getEntity().summaries();
+            while (summaries.hasNext())
+            {
+                JobSummary summary = summaries.next();
+                seen.add(summary.path());
+                InventoryEntry previous = index.get(summary.path());
+                // details are fetched once the inventory connection is released
+                if (previous == null)
+                {
+                    added.add(summary);
+                } else if (!previous.summary().equals(summary))
+                {
+                    changed.add(new Change(previous, summary));
+                }
+            }
+        } catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+
+        List<String> addedHashes = configHashes(added);
+        for (int i = 0; i < added.size(); i++)
+        {
+            JobSummary summary = added.get(i);
+            InventoryEntry entry = new InventoryEntry(summary, addedHashes.get(i));
+            index.put(summary.path(), entry);
+            configChecks.addLast(summary.path());
+            listener.accept(new InventoryEvent(InventoryEvent.Kind.ADDED, summary.path(), null, entry, null));
+            events++;
+        }
+
+        Set<String> rehashed = new HashSet<>();
+        for (Change change : changed)
+        {
+            events += update(change.previous(), change.current(), listener);
+            rehashed.add(change.current().path());
+        }
+        events += checkConfigs(seen, rehashed, listener);
+
+        Iterator<Map.Entry<String, InventoryEntry>> entries = index.entrySet().iterator();
+        while (entries.hasNext())
+        {
+            Map.Entry<String, InventoryEntry> entry = entries.next();
+            if (!seen.contains(entry.getKey()))
+            {
+                entries.remove();
+                listener.accept(new InventoryEvent(InventoryEvent.Kind.REMOVED, entry.getKey(), entry.getValue(), null, null));
+                events++;
+            }
+        }
+        configChecks.removeIf(path -> !index.containsKey(path));
+        return events;
+    }
+
+    public synchronized InventoryEntry get(String path)
+    {
+        return index.get(path);
+    }
+
+    /**
+     * @return a copy of the index, keyed by full job path.
+     */
+    public synchronized Map<String, InventoryEntry> snapshot()
+    {
+        return Map.copyOf(index);
+    }
+
+    /**
+     * Re-hashes the config of the jobs checked least recently among those the cycle did not fetch already.
+     */
+    private int checkConfigs(Set<String> seen, Set<String> rehashed, Consumer<InventoryEvent> listener)
+    {
+        int events = 0;
+        for (int checks = Math.min(configChecksPerCycle, configChecks.size()); checks > 0; checks--)
+        {
+            String path = configChecks.pollFirst();
+            InventoryEntry previous = index.get(path);
+            if (previous != null && seen.contains(path) && !rehashed.contains(path))
+            {
+                String hash = configHash(previous.summary());
+                if (hash != null && !hash.equals(previous.configHash()))
+                {
+                    events += report(previous, new InventoryEntry(previous.summary(), hash), listener);
+                }
+            }
+            configChecks.addLast(path);
+        }
+        return events;
+    }
+
+    private int update(InventoryEntry previous, JobSummary summary, Consumer<InventoryEvent> listener)
+    {
+        String hash = configHash(summary);
+        return report(previous, new InventoryEntry(summary, hash != null ? hash : previous.configHash()), listener);
+    }
+
+    private int report(InventoryEntry previous, InventoryEntry current, Consumer<InventoryEvent> listener)
+    {
+        JobSummary summary = current.summary();
+        ResponseResult<JobInfo> jobInfo = jobsApi.jobInfo(summary.folderPath(), summary.jobName());
+        index.put(summary.path(), current);
+        listener.accept(new InventoryEvent(InventoryEvent.Kind.CHANGED, summary.path(), previous, current,
+            jobInfo.isSuccess() ? jobInfo.getEntity() : null));
+        return 1;
+    }
+
+    /**
+     * @return the config hashes of the jobs in their order, see {@link #configHash(JobSummary)}.
+     */
+    private List<String> configHashes(List<JobSummary> summaries) throws IOException
+    {
+        if (summaries.size() <= 1)
+        {
+            return summaries.stream().map(this::configHash).toList();
+        }
+
+        Semaphore permits = new Semaphore(CONFIG_FETCH_PARALLELISM);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            List<Future<String>> futures = new ArrayList<>(summaries.size());
+            for (JobSummary summary : summaries)
+            {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try
+                    {
+                        return configHash(summary);
+                    } finally
+                    {
+                        permits.release();
+                    }
+                }));
+            }
+            List<String> hashes = new ArrayList<>(summaries.size());
+            for (Future<String> future : futures)
+            {
+                try
+                {
+                    hashes.add(future.get());
+                } catch (ExecutionException e)
+                {
+                    futures.forEach(other -> other.cancel(true));
+                    if (e.getCause() instanceof RuntimeException runtime)
+                    {
+                        throw runtime;
+                    }
+                    throw new IOException("Could not fetch the config of an added job", e.getCause());
+                } catch (InterruptedException e)
+                {
+                    futures.forEach(other -> other.cancel(true));
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while fetching the configs of added jobs");
+                }
+            }
+            return hashes;
+        }
+    }
+
+    /**
+     * @return the SHA-256 of the job's config.xml, null when it could not be fetched.
+     */
+    private String configHash(JobSummary summary)
+    {
+        ResponseResult<String> config = jobsApi.config(summary.folderPath(), summary.jobName());
+        return config.isSuccess() && config.getEntity() != null ? sha256(config.getEntity()) : null;
+    }
+
+    private record Change(InventoryEntry previous, JobSummary current)
+    {
+    }
+
+    private static String sha256(String config)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(config.getBytes(UTF_8)));
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
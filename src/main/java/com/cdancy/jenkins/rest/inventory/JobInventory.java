@@ -0,0 +1,287 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.inventory;
+
+import com.cdancy.jenkins.rest.JenkinsPaths;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Full paths of the jobs found in a nested {@code jobs[name,color,jobs[...]]} response, read token by token
+ * while the response downloads: only the chain of enclosing folders is kept in memory, never the tree.
+ * <p>
+ * Items with a color are jobs, the others are folders and are not returned themselves. Folders at the
+ * deepest requested level are not expanded, their jobs are missing from the inventory.
+ * <p>
+ * Holds the connection until exhausted or closed.
+ */
+public final class JobInventory implements Iterator<String>, Closeable
+{
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JsonParser parser;
+    private final String rootPath;
+    private final Deque<Item> items = new ArrayDeque<>();
+    private final Deque<JobSummary> ready = new ArrayDeque<>();
+    private boolean finished;
+
+    public JobInventory(InputStream json)
+    {
+        this(json, null);
+    }
+
+    /**
+     * @param rootFolder folder the response was requested for, prefixed to every path.
+     */
+    public JobInventory(InputStream json, String rootFolder)
+    {
+        this.rootPath = JenkinsPaths.displayPath(rootFolder);
+        try
+        {
+            this.parser = JSON.createParser(json);
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @param depthLimit levels of folders to expand, 1 for the direct children only.
+     * @return the {@code tree} query value listing that many levels.
+     */
+    public static String tree(int depthLimit)
+    {
+        return tree(depthLimit, false);
+    }
+
+    /**
+     * @param withLastBuild also select {@code lastBuild[number]} of every job, see {@link #summaries()}.
+     */
+    public static String tree(int depthLimit, boolean withLastBuild)
+    {
+        if (depthLimit <= 0)
+        {
+            throw new IllegalArgumentException("depthLimit must be positive");
+        }
+        String fields = withLastBuild ? "jobs[name,color,lastBuild[number]" : "jobs[name,color";
+        StringBuilder tree = new StringBuilder();
+        for (int level = 0; level < depthLimit; level++)
+        {
+            tree.append(level == 0 ? "" : ",").append(fields);
+        }
+        return tree.append("]".repeat(depthLimit)).toString();
+    }
+
+    /**
+     * @return the same jobs as this iterator, with their color and last build number. Both views consume
+     * the same response, each job is returned by only one of them.
+     */
+    public Iterator<JobSummary> summaries()
+    {
+        return new Iterator<>()
+        {
+            @Override
+            public boolean hasNext()
+            {
+                return JobInventory.this.hasNext();
+            }
+
+            @Override
+            public JobSummary next()
+            {
+                if (!hasNext())
+                {
+                    throw new NoSuchElementException();
+                }
+                return ready.poll();
+            }
+        };
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        try
+        {
+            while (ready.isEmpty() && !finished)
+            {
+                advance();
+            }
+        } catch (IOException e)
+        {
+            close();
+            throw new UncheckedIOException(e);
+        }
+        return !ready.isEmpty();
+    }
+
+    @Override
+    public String next()
+    {
+        if (!hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        return ready.poll().path();
+    }
+
+    @Override
+    public void close()
+    {
+        finished = true;
+        try
+        {
+            parser.close();
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void advance() throws IOException
+    {
+        JsonToken token = parser.nextToken();
+        if (token == null)
+        {
+            close();
+            return;
+        }
+        switch (token)
+        {
+            case START_OBJECT -> items.push(items.isEmpty() ? new Item(null, rootPath) : new Item(items.peek(), null));
+            case END_OBJECT -> complete(items.pop());
+            case FIELD_NAME -> field(parser.currentName());
+            default ->
+            {
+                // array boundaries of "jobs", everything else is consumed by field()
+            }
+        }
+    }
+
+    private void field(String name) throws IOException
+    {
+        JsonToken value = parser.nextToken();
+        Item item = items.peek();
+        if ("jobs".equals(name) && value == JsonToken.START_ARRAY)
+        {
+            return;
+        } else if ("name".equals(name) && value == JsonToken.VALUE_STRING && item.parent != null)
+        {
+            item.name = parser.getText();
+            if (item.parent.path != null)
+            {
+                item.path = item.parent.path.isEmpty() ? item.name : item.parent.path + "/" + item.name;
+            }
+        } else if ("color".equals(name))
+        {
+            item.color = value == JsonToken.VALUE_NULL ? null : parser.getText();
+            item.job = item.color != null;
+        } else if ("lastBuild".equals(name) && value == JsonToken.START_OBJECT)
+        {
+            while (parser.nextToken() == JsonToken.FIELD_NAME)
+            {
+                boolean number = "number".equals(parser.currentName());
+                if (parser.nextToken() == JsonToken.VALUE_NUMBER_INT && number)
+                {
+                    item.lastBuild = parser.getIntValue();
+                } else
+                {
+                    parser.skipChildren();
+                }
+            }
+        } else
+        {
+            parser.skipChildren();
+        }
+    }
+
+    private void complete(Item item)
+    {
+        if (item.parent == null)
+        {
+            return;
+        }
+        if (item.path == null && item.parent.path != null && item.name != null)
+        {
+            // the name came after the children
+            item.path = item.parent.path.isEmpty() ? item.name : item.parent.path + "/" + item.name;
+        }
+
+        if (item.path != null)
+        {
+            if (item.deferred != null)
+            {
+                item.deferred.forEach(relative -> ready.add(relative.under(item.path)));
+            }
+            if (item.job)
+            {
+                ready.add(new JobSummary(item.path, item.color, item.lastBuild));
+            }
+        } else if (item.name != null)
+        {
+            List<JobSummary> deferred = item.parent.deferred();
+            if (item.deferred != null)
+            {
+                item.deferred.forEach(relative -> deferred.add(relative.under(item.name)));
+            }
+            if (item.job)
+            {
+                deferred.add(new JobSummary(item.name, item.color, item.lastBuild));
+            }
+        }
+    }
+
+    private static final class Item
+    {
+        private final Item parent;
+        private String name;
+        // null while an enclosing name is still unknown
+        private String path;
+        private boolean job;
+        private String color;
+        private Integer lastBuild;
+        // jobs completed before this item's path was known, with relative paths
+        private List<JobSummary> deferred;
+
+        private Item(Item parent, String path)
+        {
+            this.parent = parent;
+            this.path = path;
+        }
+
+        private List<JobSummary> deferred()
+        {
+            if (deferred == null)
+            {
+                deferred = new ArrayList<>();
+            }
+            return deferred;
+        }
+    }
+}
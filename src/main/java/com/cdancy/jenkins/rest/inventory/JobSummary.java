@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.inventory;
+
+/**
+ * What a job looks like in a {@link JobInventory}, cheap enough to fetch for every job at once.
+ *
+ * @param path            full path of the job, e.g. {@code team/service/build}.
+ * @param color           ball color, encoding the last result and whether a build is running or the job disabled.
+ * @param lastBuildNumber null when never built or not requested.
+ */
+public record JobSummary(String path, String color, Integer lastBuildNumber)
+{
+    JobSummary under(String folder)
+    {
+        return new JobSummary(folder + "/" + path, color, lastBuildNumber);
+    }
+
+    /**
+     * @return the folder part of the path, empty for jobs at the root.
+     */
+    public String folderPath()
+    {
+        int slash = path.lastIndexOf('/');
+        return slash < 0 ? "" : path.substring(0, slash);
+    }
+
+    public String jobName()
+    {
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+}
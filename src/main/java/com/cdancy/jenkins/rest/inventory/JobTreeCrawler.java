@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.inventory;
+
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.job.Job;
+import com.cdancy.jenkins.rest.domain.job.JobList;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Walks a folder tree breadth first, listing up to {@code concurrency} folders at once on virtual threads.
+ * <p>
+ * Each listing only asks for {@code jobs[name,url,_class,color]} and every item is handed to the consumer as
+ * soon as its folder is listed, so memory follows the number of folders waiting to be listed rather than the
+ * size of the tree. Items without a color (folders, organization folders, multibranch projects) are descended into.
+ */
+public final class JobTreeCrawler
+{
+    private static final Projection<JobList> CHILDREN = Projection.of(JobList.class).fields("jobs[name,url,_class,color]");
+
+    private final JobsApi jobsApi;
+    private final int concurrency;
+
+    public JobTreeCrawler(JobsApi jobsApi)
+    {
+        this(jobsApi, 8);
+    }
+
+    /**
+     * @param concurrency maximum number of folder listings in flight.
+     */
+    public JobTreeCrawler(JobsApi jobsApi, int concurrency)
+    {
+        if (concurrency <= 0)
+        {
+            throw new IllegalArgumentException("concurrency must be positive");
+        }
+        this.jobsApi = jobsApi;
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * @param rootFolder folder to start from, null or empty for the Jenkins root.
+     * @param consumer   receives the full path of each item, e.g. {@code team/service/build}, and the item itself;
+     *                   calls are serialized but come from several threads.
+     * @return the number of items found.
+     * @throws IOException when a folder cannot be listed, the walk is stopped.
+     */
+    public long crawl(String rootFolder, BiConsumer<String, Job> consumer) throws IOException, InterruptedException
+    {
+        Walk walk = new Walk(consumer);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            walk.executor = executor;
+            walk.submit(rootFolder == null ? "" : rootFolder);
+            try
+            {
+                walk.done.await();
+            } finally
+            {
+                executor.shutdownNow();
+            }
+        }
+
+        Throwable failure = walk.failure.get();
+        if (failure instanceof IOException io)
+        {
+            throw io;
+        } else if (failure instanceof RuntimeException runtime)
+        {
+            throw runtime;
+        } else if (failure instanceof Error error)
+        {
+            throw error;
+        }
+        return walk.items.sum();
+    }
+
+    private final class Walk
+    {
+        private final BiConsumer<String, Job> consumer;
+        private final Semaphore permits = new Semaphore(concurrency);
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private final LongAdder items = new LongAdder();
+        private ExecutorService executor;
+
+        private Walk(BiConsumer<String, Job> consumer)
+        {
+            this.consumer = consumer;
+        }
+
+        private void submit(String folder)
+        {
+            pending.incrementAndGet();
+            executor.execute(() -> list(folder));
+        }
+
+        private void list(String folder)
+        {
+            try
+            {
+                if (failure.get() != null)
+                {
+                    return;
+                }
+                JobList children = fetch(folder);
+                if (children.getJobs() == null)
+                {
+                    return;
+                }
+                for (Job job : children.getJobs())
+                {
+                    String path = folder.isEmpty() ? job.name() : folder + "/" + job.name();
+                    synchronized (consumer)
+                    {
+                        consumer.accept(path, job);
+                    }
+                    items.increment();
+                    if (job.color() == null)
+                    {
+                        submit(path);
+                    }
+                }
+            } catch (Throwable t)
+            {
+                if (!(t instanceof InterruptedException) && failure.compareAndSet(null, t))
+                {
+                    done.countDown();
+                }
+            } finally
+            {
+                if (pending.decrementAndGet() == 0)
+                {
+                    done.countDown();
+                }
+            }
+        }
+
+        private JobList fetch(String folder) throws IOException, InterruptedException
+        {
+            permits.acquire();
+            try
+            {
+                ResponseResult<JobList> children = jobsApi.jobList(folder, CHILDREN);
+                if (!children.isSuccess() || children.getEntity() == null)
+                {
+                    throw new IOException("Could not list " + (folder.isEmpty() ? "the root folder" : folder)
+                        + " (" + children.getStatus() + "): " + children.getError());
+                }
+                return children.getEntity();
+            } finally
+            {
+                permits.release();
+            }
+        }
+    }
+}
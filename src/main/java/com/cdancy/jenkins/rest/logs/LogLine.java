@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.logs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * One line of a console log, without its line terminator.
+ * A line is a view on the chunk it was read from, its bytes are only decoded when {@link #text()} is called.
+ */
+public final class LogLine
+{
+    private final long offset;
+    private final byte[] chunk;
+    private final int start;
+    private final int length;
+
+    LogLine(long offset, byte[] chunk, int start, int length)
+    {
+        this.offset = offset;
+        this.chunk = chunk;
+        this.start = start;
+        this.length = length;
+    }
+
+    /**
+     * @return byte offset of the start of this line within the whole log.
+     */
+    public long offset()
+    {
+        return offset;
+    }
+
+    /**
+     * @return length in bytes.
+     */
+    public int length()
+    {
+        return length;
+    }
+
+    /**
+     * @return the line decoded as UTF-8, which is what Jenkins writes its logs with.
+     */
+    public String text()
+    {
+        return new String(chunk, start, length, UTF_8);
+    }
+
+    /**
+     * @return a read only view on the bytes of this line.
+     */
+    public ByteBuffer bytes()
+    {
+        return ByteBuffer.wrap(chunk, start, length).slice().asReadOnlyBuffer();
+    }
+
+    public void writeTo(OutputStream out) throws IOException
+    {
+        out.write(chunk, start, length);
+    }
+
+    @Override
+    public String toString()
+    {
+        return text();
+    }
+}
@@ -0,0 +1,297 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.logs;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Demand driven subscription of {@link LogTailer#lines}.
+ * <p>
+ * All work happens in {@link #drain()}, which is serialized by the {@code wip} counter: pending lines are delivered
+ * while there is demand, and one more buffer is read from the open {@code progressiveText} response only when they
+ * are exhausted and the subscriber still wants more. A large log is therefore never held in memory: the response
+ * stays open between reads and is only read as fast as lines are requested, when an idle timeout drops it meanwhile
+ * the read is retried once on a new response from the current offset. Every read fills a fresh chunk the complete
+ * lines are views on, only a line broken by the chunk boundary is carried over on its own.
+ */
+final class LogLineSubscription implements Flow.Subscription
+{
+    private static final byte[] NOTHING = new byte[0];
+    private static final int CHUNK_SIZE = 8 * 1024;
+
+    private final LogTailer tailer;
+    private final String folderPath;
+    private final String jobName;
+    private final int buildNumber;
+    private final Executor executor;
+    private final Flow.Subscriber<? super LogLine> subscriber;
+
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile boolean cancelled;
+    private volatile boolean waiting;
+    private volatile Throwable invalidRequest;
+
+    // only touched while draining
+    private final Queue<LogLine> pending = new ArrayDeque<>();
+    private LogTailer.LogStream stream;
+    private long streamBytes;
+    private boolean done;
+    private boolean terminated;
+    private long offset;
+    private long intervalMillis;
+    private byte[] carry = NOTHING;
+    private long carryOffset;
+
+    LogLineSubscription(LogTailer tailer, String folderPath, String jobName, int buildNumber, long start,
+                        Executor executor, Flow.Subscriber<? super LogLine> subscriber)
+    {
+        this.tailer = tailer;
+        this.folderPath = folderPath;
+        this.jobName = jobName;
+        this.buildNumber = buildNumber;
+        this.executor = executor;
+        this.subscriber = subscriber;
+        this.offset = start;
+        this.carryOffset = start;
+        this.intervalMillis = tailer.minIntervalMillis();
+    }
+
+    @Override
+    public void request(long n)
+    {
+        if (n <= 0)
+        {
+            // signalled from the drain, which may be calling the subscriber right now
+            invalidRequest = new IllegalArgumentException("Requested " + n + " lines, expected a positive number");
+        } else
+        {
+            demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel()
+    {
+        cancelled = true;
+        schedule();
+    }
+
+    private void schedule()
+    {
+        if (wip.getAndIncrement() == 0)
+        {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain()
+    {
+        int missed = 1;
+        do
+        {
+            step();
+            if (cancelled)
+            {
+                closeStream();
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void step()
+    {
+        while (!cancelled)
+        {
+            if (invalidRequest != null)
+            {
+                fail(invalidRequest);
+            } else if (!pending.isEmpty())
+            {
+                if (demand.get() == 0)
+                {
+                    return;
+                }
+                demand.decrementAndGet();
+                subscriber.onNext(pending.poll());
+            } else if (done)
+            {
+                cancelled = true;
+                terminated = true;
+                subscriber.onComplete();
+            } else if (demand.get() == 0 || waiting)
+            {
+                return;
+            } else if (!read())
+            {
+                // the log has no complete line past the offset yet, ask again later
+                waiting = true;
+                CompletableFuture.delayedExecutor(intervalMillis, MILLISECONDS, executor).execute(() -> {
+                    waiting = false;
+                    schedule();
+                });
+                return;
+            }
+        }
+    }
+
+    /**
+     * Reads one chunk from the open response, opening one first if needed.
+     *
+     * @return false when the response ended without the log ending and no line is pending.
+     */
+    private boolean read()
+    {
+        try
+        {
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int read = readChunk(chunk);
+            if (read != -1)
+            {
+                split(chunk, read);
+                offset += read;
+                streamBytes += read;
+                return true;
+            }
+
+            LogTailer.LogStream ended = stream;
+            closeStream();
+            offset = ended.nextOffset() >= 0 ? ended.nextOffset() : offset;
+            intervalMillis = tailer.nextInterval(intervalMillis, streamBytes > 0);
+            if (!ended.moreData())
+            {
+                done = true;
+                if (carry.length > 0)
+                {
+                    pending.add(line(carryOffset, carry, 0, carry.length));
+                    carry = NOTHING;
+                }
+            }
+            return done || !pending.isEmpty();
+        } catch (Exception e)
+        {
+            fail(e);
+            return true;
+        }
+    }
+
+    private int readChunk(byte[] chunk) throws IOException
+    {
+        if (stream == null)
+        {
+            stream = tailer.open(folderPath, jobName, buildNumber, offset);
+            streamBytes = 0;
+            return stream.in().read(chunk, 0, chunk.length);
+        }
+        try
+        {
+            return stream.in().read(chunk, 0, chunk.length);
+        } catch (IOException e)
+        {
+            // the response sat idle while there was no demand, resume where it stopped
+            closeStream();
+            stream = tailer.open(folderPath, jobName, buildNumber, offset);
+            return stream.in().read(chunk, 0, chunk.length);
+        }
+    }
+
+    /**
+     * Queues the lines completed by {@code length} bytes read at {@code offset}, the chunk is never written again.
+     */
+    private void split(byte[] chunk, int length)
+    {
+        int lineStart = 0;
+        for (int i = 0; i < length; i++)
+        {
+            if (chunk[i] != '\n')
+            {
+                continue;
+            }
+            if (carry.length > 0)
+            {
+                byte[] joined = Arrays.copyOf(carry, carry.length + i);
+                System.arraycopy(chunk, 0, joined, carry.length, i);
+                pending.add(line(carryOffset, joined, 0, joined.length));
+                carry = NOTHING;
+            } else
+            {
+                pending.add(line(offset + lineStart, chunk, lineStart, i - lineStart));
+            }
+            lineStart = i + 1;
+        }
+        appendCarry(chunk, lineStart, length - lineStart);
+    }
+
+    private void appendCarry(byte[] buffer, int from, int length)
+    {
+        if (length == 0)
+        {
+            return;
+        }
+        if (carry.length == 0)
+        {
+            carryOffset = offset + from;
+        }
+        int previous = carry.length;
+        carry = Arrays.copyOf(carry, previous + length);
+        System.arraycopy(buffer, from, carry, previous, length);
+    }
+
+    private void fail(Throwable error)
+    {
+        cancelled = true;
+        if (!terminated)
+        {
+            terminated = true;
+            subscriber.onError(error);
+        }
+    }
+
+    private void closeStream()
+    {
+        if (stream != null)
+        {
+            try
+            {
+                stream.close();
+            } catch (Exception e)
+            {
+                // the lines read so far stand, the connection is discarded either way
+            }
+            stream = null;
+        }
+    }
+
+    private static LogLine line(long offset, byte[] bytes, int start, int length)
+    {
+        // CRLF logs: the carriage return belongs to the terminator
+        int end = length > 0 && bytes[start + length - 1] == '\r' ? length - 1 : length;
+        return new LogLine(offset, bytes, start, end);
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.logs;
+
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.pool.BufferPool;
+import jakarta.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+
+/**
+ * Follows the console log of a build through {@code progressiveText}, copying every chunk as bytes
+ * straight into a sink: no {@code String} is built and the copy buffers come from a shared {@link BufferPool}.
+ * <p>
+ * {@link #tail} blocks until Jenkins stops announcing {@code X-More-Data}. It polls again after the
+ * minimum interval while the log grows and doubles the interval, up to the maximum, while it does not.
+ * Tailing many builds at once is best done with one virtual thread per build.
+ * <p>
+ * {@link #lines} publishes the same log as {@link LogLine}s to a {@link Flow.Subscriber}, polling only as
+ * fast as the subscriber requests lines.
+ */
+public final class LogTailer
+{
+    private static final String TEXT_SIZE_HEADER = "X-Text-Size";
+    private static final String MORE_DATA_HEADER = "X-More-Data";
+
+    private final JobsApi jobsApi;
+    private final BufferPool buffers;
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+
+    public LogTailer(JobsApi jobsApi)
+    {
+        this(jobsApi, new BufferPool(64 * 1024, 256), Duration.ofMillis(250), Duration.ofSeconds(5));
+    }
+
+    public LogTailer(JobsApi jobsApi, BufferPool buffers, Duration minInterval, Duration maxInterval)
+    {
+        if (minInterval.isNegative() || maxInterval.compareTo(minInterval) < 0)
+        {
+            throw new IllegalArgumentException("Expected 0 <= minInterval <= maxInterval");
+        }
+        this.jobsApi = jobsApi;
+        this.buffers = buffers;
+        this.minIntervalMillis = minInterval.toMillis();
+        this.maxIntervalMillis = maxInterval.toMillis();
+    }
+
+    public long tail(String folderPath, String jobName, int buildNumber, long start, OutputStream sink)
+        throws IOException, InterruptedException
+    {
+        return tail(folderPath, jobName, buildNumber, start, Channels.newChannel(sink));
+    }
+
+    /**
+     * Copy the log from {@code start} to the sink until the build is over.
+     *
+     * @return the offset reached, i.e. the size of the whole log when starting from 0.
+     * @throws IOException when Jenkins answers with an error or the sink cannot be written.
+     */
+    public long tail(String folderPath, String jobName, int buildNumber, long start, WritableByteChannel sink)
+        throws IOException, InterruptedException
+    {
+        long offset = start;
+        long intervalMillis = minIntervalMillis;
+        while (true)
+        {
+            TailProgress progress = poll(folderPath, jobName, buildNumber, offset, sink);
+            offset = progress.nextOffset();
+            if (!progress.moreData())
+            {
+                return offset;
+            }
+            intervalMillis = nextInterval(intervalMillis, progress.bytesWritten() > 0);
+            Thread.sleep(intervalMillis);
+        }
+    }
+
+    /**
+     * Copy whatever the log holds past {@code start} to the sink, once.
+     */
+    public TailProgress poll(String folderPath, String jobName, int buildNumber, long start, WritableByteChannel sink)
+        throws IOException
+    {
+        Response response = jobsApi.progressiveLogRaw(folderPath, jobName, buildNumber, start);
+        try
+        {
+            if (response.getStatus() < 200 || response.getStatus() >= 300)
+            {
+                throw new IOException("Could not read log of " + jobName + " #" + buildNumber
+                    + " (" + response.getStatus() + "): " + response.readEntity(String.class));
+            }
+
+            long written = copy(response.readEntity(InputStream.class), sink);
+            String textSize = response.getHeaderString(TEXT_SIZE_HEADER);
+            long nextOffset = textSize != null ? Long.parseLong(textSize) : start + written;
+            return new TailProgress(written, nextOffset, Boolean.parseBoolean(response.getHeaderString(MORE_DATA_HEADER)));
+        } finally
+        {
+            response.close();
+        }
+    }
+
+    /**
+     * Publish the log from {@code start} line by line, fetching the next chunk only once the subscriber
+     * requested more lines than are left from the previous one. Fetches and deliveries run on virtual threads.
+     */
+    public Flow.Publisher<LogLine> lines(String folderPath, String jobName, int buildNumber, long start)
+    {
+        return lines(folderPath, jobName, buildNumber, start, runnable -> Thread.ofVirtual().start(runnable));
+    }
+
+    /**
+     * @param executor runs the blocking fetches and the subscriber callbacks.
+     */
+    public Flow.Publisher<LogLine> lines(String folderPath, String jobName, int buildNumber, long start, Executor executor)
+    {
+        return subscriber -> subscriber.onSubscribe(
+            new LogLineSubscription(this, folderPath, jobName, buildNumber, start, executor, subscriber));
+    }
+
+    /**
+     * Open the log past {@code start} without reading it, the caller reads and closes the stream.
+     */
+    LogStream open(String folderPath, String jobName, int buildNumber, long start) throws IOException
+    {
+        Response response = jobsApi.progressiveLogRaw(folderPath, jobName, buildNumber, start);
+        if (response.getStatus() < 200 || response.getStatus() >= 300)
+        {
+            try
+            {
+                throw new IOException("Could not read log of " + jobName + " #" + buildNumber
+                    + " (" + response.getStatus() + "): " + response.readEntity(String.class));
+            } finally
+            {
+                response.close();
+            }
+        }
+
+        String textSize = response.getHeaderString(TEXT_SIZE_HEADER);
+        return new LogStream(response, response.readEntity(InputStream.class),
+            textSize != null ? Long.parseLong(textSize) : -1,
+            Boolean.parseBoolean(response.getHeaderString(MORE_DATA_HEADER)));
+    }
+
+    long nextInterval(long intervalMillis, boolean grew)
+    {
+        return grew ? minIntervalMillis : Math.min(maxIntervalMillis, Math.max(1, intervalMillis * 2));
+    }
+
+    long minIntervalMillis()
+    {
+        return minIntervalMillis;
+    }
+
+    /**
+     * One open {@code progressiveText} response.
+     *
+     * @param nextOffset offset announced by Jenkins for the next poll, negative when it sent none.
+     */
+    record LogStream(Response response, InputStream in, long nextOffset, boolean moreData) implements Closeable
+    {
+        @Override
+        public void close() throws IOException
+        {
+            try (response)
+            {
+                in.close();
+            }
+        }
+    }
+
+    private long copy(InputStream in, WritableByteChannel sink) throws IOException
+    {
+        ByteBuffer buffer = buffers.acquire();
+        try (in)
+        {
+            long written = 0;
+            int read;
+            while ((read = in.read(buffer.array(), 0, buffer.capacity())) != -1)
+            {
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining())
+                {
+                    sink.write(buffer);
+                }
+                written += read;
+            }
+            return written;
+        } finally
+        {
+            buffers.release(buffer);
+        }
+    }
+}
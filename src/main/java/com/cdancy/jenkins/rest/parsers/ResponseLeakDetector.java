@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.parsers;
+
+import static java.lang.System.Logger.Level.WARNING;
+
+import jakarta.ws.rs.core.Response;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Cleaner;
+
+/**
+ * Ties a streamed entity to the {@link Response} it was read from.
+ * Closing the stream releases the connection; a stream that becomes unreachable without
+ * being closed is reported together with the stack trace of the call that created it,
+ * and its connection is released so the pool does not starve.
+ */
+final class ResponseLeakDetector
+{
+
+    private static final System.Logger LOGGER = System.getLogger(ResponseLeakDetector.class.getName());
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private ResponseLeakDetector()
+    {
+        // no-op utility
+    }
+
+    static InputStream track(Response response, InputStream entity)
+    {
+        return new TrackedInputStream(response, entity);
+    }
+
+    private static final class Leak implements Runnable
+    {
+        private final Response response;
+        private final Throwable origin;
+        private volatile boolean released;
+
+        private Leak(Response response, Throwable origin)
+        {
+            this.response = response;
+            this.origin = origin;
+        }
+
+        @Override
+        public void run()
+        {
+            if (!released)
+            {
+                LOGGER.log(WARNING, "Streamed response was never closed, releasing its connection now. "
+                    + "Close the ResponseResult or its entity stream when done with it.", origin);
+                response.close();
+            }
+        }
+    }
+
+    private static final class TrackedInputStream extends FilterInputStream
+    {
+        private final Leak leak;
+        private final Cleaner.Cleanable cleanable;
+
+        private TrackedInputStream(Response response, InputStream entity)
+        {
+            super(entity);
+            // must not reference this stream, otherwise it never becomes unreachable
+            this.leak = new Leak(response, new Throwable("Unclosed response created here"));
+            this.cleanable = CLEANER.register(this, leak);
+        }
+
+        @Override
+        public void close() throws IOException
+        {
+            try
+            {
+                super.close();
+            } finally
+            {
+                leak.released = true;
+                leak.response.close();
+                cleanable.clean();
+            }
+        }
+    }
+}
@@ -23,10 +23,21 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 import com.cdancy.jenkins.rest.domain.job.ProgressiveText;
 import com.cdancy.jenkins.rest.domain.system.SystemInfo;
 import jakarta.ws.rs.core.Response;
+import java.io.Closeable;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.Optional;
+import java.util.function.Function;
 
-public class ResponseResult<T>
+/**
+ * Status, entity and error of a Jenkins call.
+ * <p>
+ * Every factory releases the underlying {@link Response} before returning, except for
+ * {@code InputStream} entities which are streamed: those keep the connection until the
+ * stream or this result is closed, hence the {@link AutoCloseable}.
+ */
+public class ResponseResult<T> implements AutoCloseable
 {
     private final int status;
     private final T entity;
@@ -41,30 +52,63 @@ public class ResponseResult<T>
 
     public static <T> ResponseResult<T> of(Response response, T value, String error)
     {
-        return new ResponseResult<>(response.getStatus(), value, error);
+        try
+        {
+            return new ResponseResult<>(response.getStatus(), value, error);
+        } finally
+        {
+            response.close();
+        }
     }
 
     public static <T> ResponseResult<T> of(Response response, Class<T> type)
     {
+        if (InputStream.class.equals(type) && isSuccess(response.getStatus()))
+        {
+            InputStream entity = ResponseLeakDetector.track(response, response.readEntity(InputStream.class));
+            return new ResponseResult<>(response.getStatus(), type.cast(entity), null);
+        }
+
         T entity = null;
         String error = null;
-        if (isSuccess(response.getStatus()))
+        try
         {
-            entity = response.readEntity(type);
+            if (isSuccess(response.getStatus()))
+            {
+                entity = response.readEntity(type);
 
-        } else
+            } else
+            {
+                error = response.readEntity(String.class);
+            }
+        } finally
         {
-            error = response.readEntity(String.class);
+            response.close();
         }
         return new ResponseResult<>(response.getStatus(), entity, error);
     }
 
+    /**
+     * @return a successful result for an entity obtained without a request of its own,
+     * e.g. from a client side cache or from a batched response.
+     */
+    public static <T> ResponseResult<T> ofEntity(T entity)
+    {
+        return new ResponseResult<>(Response.Status.OK.getStatusCode(), entity, null);
+    }
+
     public static ResponseResult<Void> ofVoid(Response response)
     {
         String error = null;
-        if (!isSuccess(response.getStatus()))
+        try
+        {
+            if (!isSuccess(response.getStatus()))
+            {
+                error = response.readEntity(String.class);
+            }
+        } finally
         {
-            error = response.readEntity(String.class);
+            response.close();
         }
         return new ResponseResult<>(response.getStatus(), null, error);
     }
@@ -73,12 +117,18 @@ public class ResponseResult<T>
     {
         Integer entity = null;
         String error = null;
-        if (isSuccess(response.getStatus()))
+        try
         {
-            entity = Integer.parseInt(response.readEntity(String.class));
-        } else
+            if (isSuccess(response.getStatus()))
+            {
+                entity = Integer.parseInt(response.readEntity(String.class));
+            } else
+            {
+                error = response.readEntity(String.class);
+            }
+        } finally
         {
-            error = response.readEntity(String.class);
+            response.close();
         }
         return new ResponseResult<>(response.getStatus(), entity, error);
     }
@@ -94,9 +144,9 @@ public class ResponseResult<T>
             {
                 String text = new String(entityStream.readAllBytes(), UTF_8);
 
-                int size = Optional.ofNullable(response.getHeaderString("X-Text-Size"))
-                    .map(Integer::parseInt)
-                    .orElse(-1);
+                long size = Optional.ofNullable(response.getHeaderString("X-Text-Size"))
+                    .map(Long::parseLong)
+                    .orElse(-1L);
 
                 boolean moreData = Optional.ofNullable(response.getHeaderString("X-More-Data"))
                     .map(Boolean::parseBoolean)
@@ -112,7 +162,13 @@ public class ResponseResult<T>
             }
         } else
         {
-            error = response.readEntity(String.class);
+            try
+            {
+                error = response.readEntity(String.class);
+            } finally
+            {
+                response.close();
+            }
         }
 
         return new ResponseResult<>(response.getStatus(), entity, error);
@@ -126,6 +182,17 @@ public class ResponseResult<T>
             throw new IllegalArgumentException("Response cannot be null");
         }
 
+        try
+        {
+            return systemInfo(response);
+        } finally
+        {
+            response.close();
+        }
+    }
+
+    private static ResponseResult<SystemInfo> systemInfo(Response response)
+    {
         int status = response.getStatus();
         if (isSuccess(status))
         {
@@ -170,4 +237,30 @@ public class ResponseResult<T>
     {
         return entityRaw;
     }
+
+    /**
+     * @return a result with the same status and error, and the entity transformed when there is one.
+     */
+    public <R> ResponseResult<R> map(Function<? super T, ? extends R> mapper)
+    {
+        return new ResponseResult<>(status, entity != null ? mapper.apply(entity) : null, entityRaw);
+    }
+
+    /**
+     * Release the connection held by a streamed entity, no-op for any other entity.
+     */
+    @Override
+    public void close()
+    {
+        if (entity instanceof Closeable closeable)
+        {
+            try
+            {
+                closeable.close();
+            } catch (IOException e)
+            {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
 }
@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.pool;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Bounded pool of equally sized heap buffers, so that streaming many responses at once
+ * does not allocate a fresh buffer per chunk. Buffers are backed by an array which
+ * {@link java.io.InputStream#read(byte[], int, int)} can fill directly.
+ */
+public final class BufferPool
+{
+    private final int bufferSize;
+    private final BlockingQueue<ByteBuffer> free;
+
+    /**
+     * @param bufferSize size of every buffer.
+     * @param maxPooled  buffers kept for reuse, buffers released beyond that are left to the garbage collector.
+     */
+    public BufferPool(int bufferSize, int maxPooled)
+    {
+        if (bufferSize <= 0 || maxPooled <= 0)
+        {
+            throw new IllegalArgumentException("bufferSize and maxPooled must be positive");
+        }
+        this.bufferSize = bufferSize;
+        this.free = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    public int bufferSize()
+    {
+        return bufferSize;
+    }
+
+    /**
+     * @return a cleared buffer, to be given back with {@link #release(ByteBuffer)}.
+     */
+    public ByteBuffer acquire()
+    {
+        ByteBuffer buffer = free.poll();
+        return buffer != null ? buffer : ByteBuffer.allocate(bufferSize);
+    }
+
+    public void release(ByteBuffer buffer)
+    {
+        if (buffer != null && buffer.capacity() == bufferSize && buffer.hasArray())
+        {
+            free.offer(buffer.clear());
+        }
+    }
+}
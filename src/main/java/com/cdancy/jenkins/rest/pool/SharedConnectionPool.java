@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.pool;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import javax.net.ssl.HostnameVerifier;
+import javax.net.ssl.SSLContext;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClientBuilder;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.jboss.resteasy.client.jaxrs.ClientHttpEngine;
+import org.jboss.resteasy.client.jaxrs.engines.ApacheHttpClientEngine;
+
+/**
+ * One Apache HttpClient connection pool shared by every RestClient proxy of a {@link com.cdancy.jenkins.rest.JenkinsApi}.
+ * <p>
+ * Without it each proxy built by the RestClientBuilder gets its own client and pool, so sockets opened by
+ * {@code jobsApi()} are never reused by {@code queueApi()}. The pool is handed to the RestClient as a RESTEasy
+ * {@link ClientHttpEngine} component, hence RESTEasy and Apache HttpClient 4.5 must be on the runtime classpath.
+ */
+public final class SharedConnectionPool implements AutoCloseable
+{
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+    private final ClientHttpEngine engine;
+
+    /**
+     * @param maxConnectionsTotal    maximum connections across all routes.
+     * @param maxConnectionsPerRoute maximum connections to a single controller.
+     * @param timeToLiveMillis       maximum life of a kept-alive connection, or a non-positive value for no limit.
+     * @param idleEvictionMillis     close connections idle for longer than this, or a non-positive value to keep them.
+     * @param timeoutMillis          connect and read timeout.
+     * @param sslContext             ssl context used for https controllers.
+     * @param hostnameVerifier       hostname verifier used for https controllers.
+     */
+    // RESTEasy 6.2 deprecates its Apache HttpClient 4 engine without offering a pooled replacement yet,
+    // the engine stays confined to this class until the client moves to a newer RESTEasy
+    @SuppressWarnings("removal")
+    public SharedConnectionPool(int maxConnectionsTotal,
+                                int maxConnectionsPerRoute,
+                                long timeToLiveMillis,
+                                long idleEvictionMillis,
+                                int timeoutMillis,
+                                SSLContext sslContext,
+                                HostnameVerifier hostnameVerifier)
+    {
+        Registry<ConnectionSocketFactory> socketFactories = RegistryBuilder.<ConnectionSocketFactory>create()
+            .register("http", PlainConnectionSocketFactory.getSocketFactory())
+            .register("https", new SSLConnectionSocketFactory(sslContext, hostnameVerifier))
+            .build();
+
+        this.connectionManager = new PoolingHttpClientConnectionManager(socketFactories, null, null, null,
+            timeToLiveMillis, TimeUnit.MILLISECONDS);
+        this.connectionManager.setMaxTotal(maxConnectionsTotal);
+        this.connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+            .setConnectTimeout(timeoutMillis)
+            .setSocketTimeout(timeoutMillis)
+            .setConnectionRequestTimeout(timeoutMillis)
+            .build();
+
+        HttpClientBuilder clientBuilder = HttpClientBuilder.create()
+            .setConnectionManager(connectionManager)
+            .setDefaultRequestConfig(requestConfig);
+        if (idleEvictionMillis > 0)
+        {
+            clientBuilder.evictExpiredConnections().evictIdleConnections(idleEvictionMillis, TimeUnit.MILLISECONDS);
+        }
+        this.httpClient = clientBuilder.build();
+
+        // the proxies must not close the client they share, close() below owns it
+        this.engine = ApacheHttpClientEngine.create(httpClient, false);
+        this.engine.setFollowRedirects(true);
+    }
+
+    /**
+     * @return the engine to register on each RestClientBuilder.
+     */
+    public ClientHttpEngine engine()
+    {
+        return engine;
+    }
+
+    /**
+     * @return current leased, idle and pending counts across all routes.
+     */
+    public ConnectionPoolStats stats()
+    {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new ConnectionPoolStats(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            httpClient.close();
+        } catch (IOException e)
+        {
+            throw new IllegalStateException("Unable to close the shared connection pool", e);
+        } finally
+        {
+            connectionManager.close();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.search;
+
+import com.cdancy.jenkins.rest.config.JobConfig;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.System.Logger.Level;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.Set;
+
+/**
+ * Decorates a {@link JobsApi} so that successful {@code create}, {@code config}, {@code description},
+ * {@code rename} and {@code delete} calls are applied to a {@link JobSearchIndex}.
+ * Every call goes to the delegate unchanged, the index is updated after it succeeded.
+ */
+public final class IndexingJobsApi implements InvocationHandler
+{
+    private static final System.Logger LOGGER = System.getLogger(IndexingJobsApi.class.getName());
+
+    // every way of sending a config.xml, the index reads the result back from Jenkins
+    private static final Set<Method> CONFIG_WRITES = Set.of(
+        method("create", String.class, String.class, String.class),
+        method("create", String.class, String.class, InputStream.class),
+        method("create", String.class, String.class, Path.class),
+        method("config", String.class, String.class, String.class),
+        method("config", String.class, String.class, InputStream.class),
+        method("config", String.class, String.class, Path.class),
+        method("config", String.class, String.class, JobConfig.class));
+    private static final Method DESCRIPTION = method("description", String.class, String.class, String.class);
+    private static final Method RENAME = method("rename", String.class, String.class, String.class);
+    private static final Method DELETE = method("delete", String.class, String.class);
+    private static final Set<Method> MUTATIONS = Set.of(DESCRIPTION, RENAME, DELETE);
+
+    private final JobsApi delegate;
+    private final JobSearchIndex index;
+
+    private IndexingJobsApi(JobsApi delegate, JobSearchIndex index)
+    {
+        this.delegate = delegate;
+        this.index = index;
+    }
+
+    public static JobsApi of(JobsApi delegate, JobSearchIndex index)
+    {
+        return (JobsApi) Proxy.newProxyInstance(JobsApi.class.getClassLoader(), new Class<?>[]{JobsApi.class},
+            new IndexingJobsApi(delegate, index));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+    {
+        if (method.getDeclaringClass() == Object.class)
+        {
+            return switch (method.getName())
+            {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> "IndexingJobsApi[" + delegate + "]";
+            };
+        }
+
+        Object result = forward(method, args);
+        if (!(MUTATIONS.contains(method) || CONFIG_WRITES.contains(method)) || !(result instanceof ResponseResult<?> response) || !response.isSuccess())
+        {
+            return result;
+        }
+        String folderPath = (String) args[0];
+        String jobName = (String) args[1];
+        if (CONFIG_WRITES.contains(method))
+        {
+            refresh(folderPath, jobName);
+        } else if (method.equals(DESCRIPTION))
+        {
+            index.describe(JobSearchIndex.path(folderPath, jobName), (String) args[2]);
+        } else if (method.equals(RENAME))
+        {
+            index.rename(JobSearchIndex.path(folderPath, jobName), JobSearchIndex.path(folderPath, (String) args[2]));
+        } else if (method.equals(DELETE))
+        {
+            index.remove(JobSearchIndex.path(folderPath, jobName));
+        }
+        return result;
+    }
+
+    private void refresh(String folderPath, String jobName)
+    {
+        try
+        {
+            if (!index.refresh(delegate, folderPath, jobName))
+            {
+                index.add(JobSearchIndex.path(folderPath, jobName), null, null);
+            }
+        } catch (IOException | RuntimeException e)
+        {
+            // the call itself succeeded, a stale index entry must not turn it into a failure
+            LOGGER.log(Level.WARNING, "Could not index " + JobSearchIndex.path(folderPath, jobName), e);
+        }
+    }
+
+    private Object forward(Method method, Object[] args) throws Throwable
+    {
+        try
+        {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException e)
+        {
+            throw e.getCause();
+        }
+    }
+
+    private static Method method(String name, Class<?>... parameterTypes)
+    {
+        try
+        {
+            return JobsApi.class.getMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
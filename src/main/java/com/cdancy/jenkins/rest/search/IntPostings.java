@@ -0,0 +1,58 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.search;
+
+import java.util.Arrays;
+
+/**
+ * Growable, ascending list of document ids backed by an {@code int[]}.
+ * Ids are only ever appended in increasing order, updated documents get a new id.
+ */
+final class IntPostings
+{
+    private int[] ids = new int[4];
+    private int size;
+
+    void add(int id)
+    {
+        if (size > 0 && ids[size - 1] == id)
+        {
+            return;
+        }
+        if (size == ids.length)
+        {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    int get(int index)
+    {
+        return ids[index];
+    }
+
+    boolean contains(int id)
+    {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+}
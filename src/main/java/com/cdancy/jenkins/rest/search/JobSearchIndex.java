@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.search;
+
+import com.cdancy.jenkins.rest.JenkinsPaths;
+import com.cdancy.jenkins.rest.domain.job.Job;
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.features.JobsApi;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In memory type-ahead index over job names, descriptions and parameter names.
+ * <p>
+ * Terms of three characters or more are looked up in a trigram index, shorter ones as word prefixes;
+ * postings are ascending {@code int[]} of document ids. A document is replaced rather than edited: the old id
+ * is marked dead and the postings are rebuilt once dead ids outnumber live ones.
+ * <p>
+ * Feed it from {@link com.cdancy.jenkins.rest.inventory.JobTreeCrawler} ({@code crawler.crawl(null, index::add)}),
+ * {@code jobInfo} or {@link #refresh(JobsApi, String, String)}; see
+ * {@link com.cdancy.jenkins.rest.JenkinsApi.Builder#jobSearchIndex(JobSearchIndex)} to keep it in line with
+ * the jobs created, renamed and deleted through {@link JobsApi}.
+ */
+public final class JobSearchIndex
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String DETAILS_TREE = "description,property[parameterDefinitions[name]]";
+    private static final char FIELD_SEPARATOR = '\n';
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Integer> idsByPath = new TreeMap<>();
+    private final List<Document> documents = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, IntPostings> trigrams = new HashMap<>();
+    private final NavigableMap<String, IntPostings> words = new TreeMap<>();
+
+    /**
+     * Indexes an item by its name, keeping the description and parameters already known for it.
+     * Matches {@code BiConsumer<String, Job>} so it can be handed to a crawler.
+     */
+    public void add(String path, Job job)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            Document previous = document(path);
+            put(path, previous != null ? previous.description : null, previous != null ? previous.parameters : List.of());
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a job with its description, keeping the parameters already known for it.
+     */
+    public void add(String path, JobInfo jobInfo)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            Document previous = document(path);
+            put(path, jobInfo.getDescription(), previous != null ? previous.parameters : List.of());
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void add(String path, String description, Collection<String> parameterNames)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            put(path, description, parameterNames == null ? List.of() : List.copyOf(parameterNames));
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void describe(String path, String description)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            Document previous = document(path);
+            put(path, description, previous != null ? previous.parameters : List.of());
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Fetches the description and parameter names of one job, in a single projected request, and indexes them.
+     *
+     * @return false when the job could not be fetched, the index is then left untouched.
+     */
+    public boolean refresh(JobsApi jobsApi, String folderPath, String jobName) throws IOException
+    {
+        JsonNode details;
+        try (Response response = (folderPath == null || folderPath.isEmpty())
+            ? jobsApi.jobInfoRaw(jobName, null, DETAILS_TREE)
+            : jobsApi.jobInfoInFolderRaw(JenkinsPaths.appendFolderPrefixIfNeeded(folderPath), jobName, null, DETAILS_TREE))
+        {
+            if (response.getStatusInfo().getFamily() != Response.Status.Family.SUCCESSFUL)
+            {
+                return false;
+            }
+            details = MAPPER.readTree(response.readEntity(String.class));
+        }
+
+        List<String> parameters = new ArrayList<>();
+        for (JsonNode property : details.path("property"))
+        {
+            for (JsonNode definition : property.path("parameterDefinitions"))
+            {
+                if (definition.hasNonNull("name"))
+                {
+                    parameters.add(definition.get("name").asText());
+                }
+            }
+        }
+        JsonNode description = details.get("description");
+        add(path(folderPath, jobName), description == null || description.isNull() ? null : description.asText(), parameters);
+        return true;
+    }
+
+    /**
+     * Removes an item and, when it is a folder, everything below it.
+     */
+    public void remove(String path)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            for (String removed : List.copyOf(subtree(path).keySet()))
+            {
+                live.clear(idsByPath.remove(removed));
+            }
+            compactIfNeeded();
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves an item and, when it is a folder, everything below it.
+     */
+    public void rename(String oldPath, String newPath)
+    {
+        lock.writeLock().lock();
+        try
+        {
+            List<Document> moved = new ArrayList<>();
+            subtree(oldPath).values().forEach(id -> moved.add(documents.get(id)));
+            for (Document document : moved)
+            {
+                live.clear(idsByPath.remove(document.path));
+            }
+            for (Document document : moved)
+            {
+                put(newPath + document.path.substring(oldPath.length()), document.description, document.parameters);
+            }
+            compactIfNeeded();
+        } finally
+        {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param query space separated terms, all of which must match the name, description or a parameter name.
+     * @return paths of up to {@code limit} matching jobs, those whose name starts with the first term first.
+     */
+    public List<String> search(String query, int limit)
+    {
+        String[] terms = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty() || limit <= 0)
+        {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try
+        {
+            BitSet matches = null;
+            for (String term : terms)
+            {
+                BitSet termMatches = term.length() >= 3 ? substring(term) : prefix(term);
+                if (matches == null)
+                {
+                    matches = termMatches;
+                } else
+                {
+                    matches.and(termMatches);
+                }
+            }
+            matches.and(live);
+
+            String first = terms[0];
+            List<Document> found = new ArrayList<>(matches.cardinality());
+            matches.stream().forEach(id -> found.add(documents.get(id)));
+            return found.stream()
+                .sorted(Comparator.comparingInt((Document document) -> rank(document, first)).thenComparing(document -> document.path))
+                .limit(limit)
+                .map(document -> document.path)
+                .toList();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size()
+    {
+        lock.readLock().lock();
+        try
+        {
+            return idsByPath.size();
+        } finally
+        {
+            lock.readLock().unlock();
+        }
+    }
+
+    static String path(String folderPath, String jobName)
+    {
+        String folder = JenkinsPaths.displayPath(folderPath);
+        return folder.isEmpty() ? jobName : folder + "/" + jobName;
+    }
+
+    private Document document(String path)
+    {
+        Integer id = idsByPath.get(path);
+        return id == null ? null : documents.get(id);
+    }
+
+    private NavigableMap<String, Integer> subtree(String path)
+    {
+        NavigableMap<String, Integer> subtree = new TreeMap<>(idsByPath.subMap(path + "/", true, path + "/" + Character.MAX_VALUE, true));
+        Integer id = idsByPath.get(path);
+        if (id != null)
+        {
+            subtree.put(path, id);
+        }
+        return subtree;
+    }
+
+    private void put(String path, String description, List<String> parameters)
+    {
+        Integer previous = idsByPath.get(path);
+        if (previous != null)
+        {
+            live.clear(previous);
+        }
+        Document document = new Document(path, description, parameters);
+        int id = documents.size();
+        documents.add(document);
+        live.set(id);
+        idsByPath.put(path, id);
+        index(id, document);
+        compactIfNeeded();
+    }
+
+    private void index(int id, Document document)
+    {
+        String text = document.text;
+        for (int i = 0; i + 3 <= text.length(); i++)
+        {
+            long trigram = trigram(text, i);
+            if (trigram >= 0)
+            {
+                trigrams.computeIfAbsent(trigram, key -> new IntPostings()).add(id);
+            }
+        }
+        for (String word : text.split("[^\\p{L}\\p{N}]+"))
+        {
+            if (!word.isEmpty())
+            {
+                words.computeIfAbsent(word, key -> new IntPostings()).add(id);
+            }
+        }
+    }
+
+    private void compactIfNeeded()
+    {
+        int dead = documents.size() - live.cardinality();
+        if (dead < 1024 || dead < live.cardinality())
+        {
+            return;
+        }
+        List<Document> survivors = new ArrayList<>(idsByPath.size());
+        idsByPath.values().forEach(id -> survivors.add(documents.get(id)));
+        documents.clear();
+        live.clear();
+        idsByPath.clear();
+        trigrams.clear();
+        words.clear();
+        for (Document document : survivors)
+        {
+            int id = documents.size();
+            documents.add(document);
+            live.set(id);
+            idsByPath.put(document.path, id);
+            index(id, document);
+        }
+    }
+
+    private BitSet substring(String term)
+    {
+        List<IntPostings> lists = new ArrayList<>();
+        for (int i = 0; i + 3 <= term.length(); i++)
+        {
+            IntPostings postings = trigrams.get(trigram(term, i));
+            if (postings == null)
+            {
+                return new BitSet();
+            }
+            lists.add(postings);
+        }
+        lists.sort(Comparator.comparingInt(IntPostings::size));
+
+        // walk the shortest list, probe the others, then confirm the trigrams are adjacent
+        BitSet matches = new BitSet();
+        IntPostings shortest = lists.get(0);
+        for (int index = 0; index < shortest.size(); index++)
+        {
+            int id = shortest.get(index);
+            boolean all = true;
+            for (int other = 1; other < lists.size() && all; other++)
+            {
+                all = lists.get(other).contains(id);
+            }
+            if (all && documents.get(id).text.contains(term))
+            {
+                matches.set(id);
+            }
+        }
+        return matches;
+    }
+
+    private BitSet prefix(String term)
+    {
+        BitSet matches = new BitSet();
+        for (IntPostings postings : words.subMap(term, true, term + Character.MAX_VALUE, true).values())
+        {
+            for (int index = 0; index < postings.size(); index++)
+            {
+                matches.set(postings.get(index));
+            }
+        }
+        return matches;
+    }
+
+    private static int rank(Document document, String term)
+    {
+        if (document.name.startsWith(term))
+        {
+            return 0;
+        }
+        return document.name.contains(term) ? 1 : 2;
+    }
+
+    // three chars packed in the low 48 bits, -1 when the window spans two fields
+    private static long trigram(String text, int start)
+    {
+        char a = text.charAt(start);
+        char b = text.charAt(start + 1);
+        char c = text.charAt(start + 2);
+        if (a == FIELD_SEPARATOR || b == FIELD_SEPARATOR || c == FIELD_SEPARATOR)
+        {
+            return -1;
+        }
+        return ((long) a << 32) | ((long) b << 16) | c;
+    }
+
+    private static final class Document
+    {
+        private final String path;
+        private final String name;
+        private final String description;
+        private final List<String> parameters;
+        // lower cased name, description and parameters, one per line
+        private final String text;
+
+        private Document(String path, String description, List<String> parameters)
+        {
+            this.path = path;
+            this.name = path.substring(path.lastIndexOf('/') + 1).toLowerCase(Locale.ROOT);
+            this.description = description;
+            this.parameters = parameters;
+            Set<String> fields = new LinkedHashSet<>();
+            fields.add(name);
+            if (description != null && !description.isBlank())
+            {
+                fields.add(description.toLowerCase(Locale.ROOT).replace(FIELD_SEPARATOR, ' '));
+            }
+            parameters.forEach(parameter -> fields.add(parameter.toLowerCase(Locale.ROOT)));
+            this.text = String.join(String.valueOf(FIELD_SEPARATOR), fields);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.Reporter;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Fan-out benchmark comparing the provider default executor with virtual threads.
+ * The throughput of both runs is printed so it can be compared between environments.
+ */
+@Test(groups = "live", testName = "JenkinsApiExecutorLiveTest", singleThreaded = true)
+public class JenkinsApiExecutorLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "ExecutorBenchmark";
+    private static final int WARMUP_REQUESTS = 50;
+    private static final int REQUESTS = 1000;
+
+    private double serialThroughput;
+
+    @BeforeClass
+    public void init()
+    {
+        String config = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testSerialThroughput()
+    {
+        for (int i = 0; i < WARMUP_REQUESTS; i++)
+        {
+            api.jobsApi().jobInfo(null, JOB_NAME);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++)
+        {
+            assertTrue(api.jobsApi().jobInfo(null, JOB_NAME).isSuccess());
+        }
+        serialThroughput = throughput(System.nanoTime() - start);
+        Reporter.log(String.format("serial: %.1f jobInfo calls/s", serialThroughput), true);
+    }
+
+    @Test(dependsOnMethods = "testSerialThroughput")
+    public void testDefaultExecutorThroughput() throws Exception
+    {
+        double throughput = fanOut(api);
+        report("default executor", throughput);
+    }
+
+    @Test(dependsOnMethods = "testSerialThroughput")
+    public void testVirtualThreadsThroughput() throws Exception
+    {
+        try (JenkinsApi virtualThreadsApi = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .virtualThreads()
+            .build())
+        {
+            double throughput = fanOut(virtualThreadsApi);
+            report("virtual threads", throughput);
+        }
+    }
+
+    // wall clock numbers depend on the controller and the machine, they are reported rather than asserted
+    private void report(String executor, double throughput)
+    {
+        Reporter.log(String.format("%s: %.1f jobInfo calls/s, %.2fx serial", executor, throughput,
+            throughput / serialThroughput), true);
+    }
+
+    private static double throughput(long elapsedNanos)
+    {
+        return REQUESTS / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private double fanOut(JenkinsApi jenkinsApi) throws Exception
+    {
+        run(jenkinsApi, WARMUP_REQUESTS);
+        long start = System.nanoTime();
+        run(jenkinsApi, REQUESTS);
+        return throughput(System.nanoTime() - start);
+    }
+
+    private void run(JenkinsApi jenkinsApi, int requests) throws Exception
+    {
+        List<CompletableFuture<ResponseResult<JobInfo>>> calls = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++)
+        {
+            calls.add(jenkinsApi.async().jobsApi().jobInfo(null, JOB_NAME).toCompletableFuture());
+        }
+        for (CompletableFuture<ResponseResult<JobInfo>> call : calls)
+        {
+            ResponseResult<JobInfo> result = call.get(5, TimeUnit.MINUTES);
+            assertTrue(result.isSuccess());
+            assertEquals(result.getEntity().getName(), JOB_NAME);
+        }
+    }
+}
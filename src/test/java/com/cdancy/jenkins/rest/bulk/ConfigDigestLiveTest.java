@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.bulk;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Checks the normalization of {@link ConfigDigest}; it needs no Jenkins but runs with the live tests.
+ */
+@Test(groups = "live", testName = "ConfigDigestLiveTest")
+public class ConfigDigestLiveTest
+{
+
+    @Test
+    public void testFormattingIsIgnored()
+    {
+        String compact = "<?xml version='1.1' encoding='UTF-8'?><project><description>x</description><scm class=\"a\"/></project>";
+        String formatted = "<?xml version=\"1.1\" encoding=\"UTF-8\"?>\r\n<project>\n  <!-- comment -->\n"
+            + "  <description><![CDATA[x]]></description>\n  <scm class='a'></scm>\n</project>\n";
+        assertEquals(ConfigDigest.sha256(formatted), ConfigDigest.sha256(compact));
+    }
+
+    @Test
+    public void testEscapedMarkupIsNotMarkup()
+    {
+        assertNotEquals(ConfigDigest.sha256("<a>&lt;b&gt;&lt;/b&gt;</a>"), ConfigDigest.sha256("<a><b></b></a>"));
+    }
+
+    @Test
+    public void testQuotesInAttributesAreContent()
+    {
+        assertNotEquals(ConfigDigest.sha256("<a b='&quot;c'/>"), ConfigDigest.sha256("<a b='c'/>"));
+        assertEquals(ConfigDigest.sha256("<a b='&quot;c'/>"), ConfigDigest.sha256("<a b=\"&quot;c\"/>"));
+    }
+
+    @Test
+    public void testWhitespaceInLeafIsContent()
+    {
+        assertNotEquals(ConfigDigest.sha256("<a><description> </description></a>"),
+            ConfigDigest.sha256("<a><description></description></a>"));
+        assertEquals(ConfigDigest.sha256("<a>\n  <description></description>\n</a>"),
+            ConfigDigest.sha256("<a><description/></a>"));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.artifacts.ArtifactArchive;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ArtifactArchiveLiveTest", singleThreaded = true)
+public class ArtifactArchiveLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "ArchivedArtifacts";
+
+    private Path directory;
+    private int buildNumber;
+
+    @BeforeClass
+    public void init() throws IOException, InterruptedException
+    {
+        directory = Files.createTempDirectory("artifact-archive");
+        String config = payloadFromResource("/pipeline-with-artifacts.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        buildNumber = buildInfo.getNumber();
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testArchivePath()
+    {
+        assertEquals(ArtifactArchive.archivePath(null), "*zip*/archive.zip");
+        assertEquals(ArtifactArchive.archivePath("reports/sub/"), "reports/sub/*zip*/sub.zip");
+    }
+
+    @Test
+    public void testExtractAllArtifacts() throws IOException
+    {
+        ResponseResult<Long> files = api.jobsApi().extractArtifacts(null, JOB_NAME, buildNumber, null, directory);
+        assertTrue(files.isSuccess(), files.getError());
+        assertEquals(files.getEntity().longValue(), 5);
+        assertEquals(Files.readString(directory.resolve("reports/a.txt")).trim(), "alpha");
+        assertEquals(Files.readString(directory.resolve("reports/sub/b.txt")).trim(), "beta");
+        assertEquals(Files.readString(directory.resolve("alpha.txt")).trim(), "alpha");
+        assertEquals(Files.size(directory.resolve("big.bin")), 200_000);
+        assertEquals(Files.size(directory.resolve("empty.txt")), 0);
+    }
+
+    @Test
+    public void testForEachArtifactBelowDirectory()
+    {
+        Map<String, String> contents = new TreeMap<>();
+        ResponseResult<Long> files = api.jobsApi().forEachArtifact(null, JOB_NAME, buildNumber, "reports",
+            (relativePath, content) -> contents.put(relativePath, new String(content.readAllBytes(), UTF_8).trim()));
+        assertTrue(files.isSuccess(), files.getError());
+        assertEquals(files.getEntity().longValue(), 2);
+        assertEquals(contents, Map.of("reports/a.txt", "alpha", "reports/sub/b.txt", "beta"));
+    }
+
+    @Test
+    public void testArchiveOfMissingBuild()
+    {
+        ResponseResult<Long> files = api.jobsApi().forEachArtifact(null, JOB_NAME, 9999, null, (relativePath, content) -> {
+        });
+        assertFalse(files.isSuccess());
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.artifacts.ArtifactCache;
+import com.cdancy.jenkins.rest.artifacts.ArtifactCacheStats;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ArtifactCacheLiveTest", singleThreaded = true)
+public class ArtifactCacheLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "CachedArtifacts";
+
+    private Path directory;
+    private ArtifactCache cache;
+    private int buildNumber;
+
+    @BeforeClass
+    public void init() throws IOException, InterruptedException
+    {
+        directory = Files.createTempDirectory("artifact-cache");
+        cache = new ArtifactCache(api.jobsApi(), directory, 10 * 1024 * 1024);
+        String config = payloadFromResource("/pipeline-with-artifacts.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        buildNumber = buildInfo.getNumber();
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testMissThenHit() throws IOException, InterruptedException
+    {
+        Path downloaded = cache.path(null, JOB_NAME, buildNumber, "reports/sub/b.txt");
+        ArtifactCacheStats afterMiss = cache.stats();
+        Path cached = cache.path(null, JOB_NAME, buildNumber, "reports/sub/b.txt");
+        ArtifactCacheStats afterHit = cache.stats();
+
+        assertEquals(cached, downloaded);
+        assertEquals(Files.readString(cached, UTF_8).trim(), "beta");
+        assertEquals(afterHit.hits(), afterMiss.hits() + 1);
+        assertEquals(afterHit.misses(), afterMiss.misses());
+        assertTrue(afterHit.sizeBytes() > 0);
+
+        try (InputStream in = cache.open(null, JOB_NAME, buildNumber, "reports/sub/b.txt"))
+        {
+            assertEquals(new String(in.readAllBytes(), UTF_8).trim(), "beta");
+        }
+        ByteBuffer mapped = cache.map(null, JOB_NAME, buildNumber, "reports/sub/b.txt");
+        assertEquals(mapped.remaining(), Files.size(cached));
+    }
+
+    @Test
+    public void testSameContentStoredOnce() throws IOException, InterruptedException
+    {
+        // alpha.txt is a copy of reports/a.txt
+        Path original = cache.path(null, JOB_NAME, buildNumber, "reports/a.txt");
+        long deduplicated = cache.stats().deduplicated();
+        long sizeBytes = cache.stats().sizeBytes();
+        Path copy = cache.path(null, JOB_NAME, buildNumber, "alpha.txt");
+
+        assertEquals(copy, original);
+        assertEquals(cache.stats().deduplicated(), deduplicated + 1);
+        assertEquals(cache.stats().sizeBytes(), sizeBytes);
+    }
+}
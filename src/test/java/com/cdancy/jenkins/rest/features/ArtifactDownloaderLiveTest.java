@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.artifacts.ArtifactDownloader;
+import com.cdancy.jenkins.rest.artifacts.ArtifactGlob;
+import com.cdancy.jenkins.rest.artifacts.Checksum;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import com.cdancy.jenkins.rest.pool.BufferPool;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ArtifactDownloaderLiveTest", singleThreaded = true)
+public class ArtifactDownloaderLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "DownloadedArtifacts";
+    private static final String BIG_ARTIFACT = "big.bin";
+
+    private Path directory;
+    private ArtifactDownloader downloader;
+    private int buildNumber;
+    private byte[] bigContent;
+
+    @BeforeClass
+    public void init() throws IOException, InterruptedException
+    {
+        directory = Files.createTempDirectory("artifact-downloads");
+        // small parts so that the 200 kB artifact is fetched as several ranges
+        downloader = new ArtifactDownloader(api.jobsApi(), 4, 32 * 1024, 2, new BufferPool(8 * 1024, 16));
+        String config = payloadFromResource("/pipeline-with-artifacts.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        buildNumber = buildInfo.getNumber();
+        try (ResponseResult<InputStream> artifact = api.jobsApi().artifactInFolder(null, JOB_NAME, buildNumber, BIG_ARTIFACT))
+        {
+            bigContent = artifact.getEntity().readAllBytes();
+        }
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testRangedDownloadWithChecksum() throws IOException, InterruptedException
+    {
+        Path target = directory.resolve("ranged/" + BIG_ARTIFACT);
+        Files.createDirectories(target.getParent());
+        Path downloaded = downloader.download(null, JOB_NAME, buildNumber, BIG_ARTIFACT, target, Checksum.sha256(sha256(bigContent)));
+        assertEquals(downloaded, target);
+        assertEquals(Files.readAllBytes(target), bigContent);
+        assertFalse(Files.exists(target.resolveSibling(BIG_ARTIFACT + ".part")));
+    }
+
+    @Test
+    public void testStalePartStartedOver() throws IOException, InterruptedException
+    {
+        Path target = directory.resolve("stale/" + BIG_ARTIFACT);
+        Files.createDirectories(target.getParent());
+        Files.write(target.resolveSibling(BIG_ARTIFACT + ".part"), new byte[1024]);
+        Files.writeString(target.resolveSibling(BIG_ARTIFACT + ".part.validator"), "\"an earlier build\"");
+        // a single range, parallel downloads never resume
+        ArtifactDownloader sequential = new ArtifactDownloader(api.jobsApi(), 1, 32 * 1024, 2, new BufferPool(8 * 1024, 16));
+        sequential.download(null, JOB_NAME, buildNumber, BIG_ARTIFACT, target, Checksum.sha256(sha256(bigContent)));
+        assertEquals(Files.readAllBytes(target), bigContent);
+        assertFalse(Files.exists(target.resolveSibling(BIG_ARTIFACT + ".part.validator")));
+    }
+
+    @Test
+    public void testChecksumMismatch() throws IOException
+    {
+        Path target = directory.resolve("mismatch/" + BIG_ARTIFACT);
+        Files.createDirectories(target.getParent());
+        Checksum wrong = Checksum.sha256(sha256(new byte[0]));
+        assertThrows(IOException.class, () -> downloader.download(null, JOB_NAME, buildNumber, BIG_ARTIFACT, target, wrong));
+        assertFalse(Files.exists(target));
+    }
+
+    @Test
+    public void testEmptyArtifact() throws IOException, InterruptedException
+    {
+        Path target = directory.resolve("empty/empty.txt");
+        Files.createDirectories(target.getParent());
+        downloader.download(null, JOB_NAME, buildNumber, "empty.txt", target);
+        assertEquals(Files.size(target), 0);
+    }
+
+    @Test
+    public void testDownloadAllMatching() throws IOException, InterruptedException
+    {
+        Path targetDirectory = directory.resolve("all");
+        List<Path> files = downloader.downloadAll(null, JOB_NAME, buildNumber, ArtifactGlob.compile("reports/**"), targetDirectory);
+        assertEquals(Set.copyOf(files), Set.of(targetDirectory.resolve("reports/a.txt"), targetDirectory.resolve("reports/sub/b.txt")));
+        assertEquals(Files.readString(targetDirectory.resolve("reports/a.txt")).trim(), "alpha");
+        assertEquals(Files.readString(targetDirectory.resolve("reports/sub/b.txt")).trim(), "beta");
+    }
+
+    private static String sha256(byte[] content)
+    {
+        try
+        {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.artifacts.ArtifactGlob;
+import com.cdancy.jenkins.rest.domain.job.Artifact;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ArtifactListLiveTest", singleThreaded = true)
+public class ArtifactListLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "ListedArtifacts";
+
+    private int buildNumber;
+
+    @BeforeClass
+    public void init() throws InterruptedException
+    {
+        String config = payloadFromResource("/pipeline-with-artifacts.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        buildNumber = buildInfo.getNumber();
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testGlobSyntax()
+    {
+        assertTrue(ArtifactGlob.compile("reports/*.txt").matches("reports/a.txt"));
+        assertFalse(ArtifactGlob.compile("reports/*.txt").matches("reports/sub/b.txt"));
+        assertTrue(ArtifactGlob.compile("**/*.txt").matches("a.txt"));
+        assertTrue(ArtifactGlob.compile("target/*.jar, reports/**").matches("reports/sub/b.txt"));
+        assertTrue(ArtifactGlob.compile("big.bi?").matches("big.bin"));
+        assertTrue(ArtifactGlob.compile(" ").matches("anything/at/all"));
+    }
+
+    @Test
+    public void testAllArtifacts()
+    {
+        assertEquals(relativePaths(null), Set.of("reports/a.txt", "reports/sub/b.txt", "big.bin", "empty.txt", "alpha.txt"));
+    }
+
+    @Test
+    public void testFilteredArtifacts()
+    {
+        assertEquals(relativePaths("reports/**"), Set.of("reports/a.txt", "reports/sub/b.txt"));
+        assertEquals(relativePaths("*.txt"), Set.of("empty.txt", "alpha.txt"));
+        assertEquals(relativePaths("**/b.txt, big.*"), Set.of("reports/sub/b.txt", "big.bin"));
+        assertEquals(relativePaths("b.txt"), Set.of());
+    }
+
+    private Set<String> relativePaths(String glob)
+    {
+        ResponseResult<List<Artifact>> artifacts = api.jobsApi().artifacts(null, JOB_NAME, buildNumber, glob);
+        assertTrue(artifacts.isSuccess(), artifacts.getError());
+        return artifacts.getEntity().stream().map(Artifact::getRelativePath).collect(Collectors.toSet());
+    }
+}
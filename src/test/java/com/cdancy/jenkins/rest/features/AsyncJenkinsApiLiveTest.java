@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.AsyncJenkinsApi;
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "AsyncJenkinsApiLiveTest", singleThreaded = true)
+public class AsyncJenkinsApiLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String FOLDER = "AsyncFolder";
+    private static final String JOB_NAME = "AsyncJob";
+
+    private AsyncJenkinsApi async;
+
+    @BeforeClass
+    public void init() throws Exception
+    {
+        async = api.async();
+        assertTrue(await(async.jobsApi().create(null, FOLDER, payloadFromResource("/folder-config.xml"))).isSuccess());
+        assertTrue(await(async.jobsApi().create(FOLDER, JOB_NAME,
+            payloadFromResource("/freestyle-project-no-params.xml"))).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, FOLDER);
+    }
+
+    @Test
+    public void testConcurrentReads() throws Exception
+    {
+        List<CompletableFuture<ResponseResult<JobInfo>>> reads = IntStream.range(0, 16)
+            .mapToObj(index -> async.jobsApi().jobInfo(FOLDER, JOB_NAME).toCompletableFuture())
+            .toList();
+        for (CompletableFuture<ResponseResult<JobInfo>> read : reads)
+        {
+            ResponseResult<JobInfo> result = read.get(30, TimeUnit.SECONDS);
+            assertTrue(result.isSuccess(), result.getError());
+            assertEquals(result.getEntity().getName(), JOB_NAME);
+        }
+    }
+
+    @Test
+    public void testConfigAndDescription() throws Exception
+    {
+        assertTrue(await(async.jobsApi().config(FOLDER, JOB_NAME)).getEntity().contains("<description>HelloWorld</description>"));
+        assertTrue(await(async.jobsApi().description(FOLDER, JOB_NAME, "Async")).isSuccess());
+        assertEquals(await(async.jobsApi().description(FOLDER, JOB_NAME)).getEntity(), "Async");
+    }
+
+    @Test
+    public void testBuildAndQueueItem() throws Exception
+    {
+        ResponseResult<Long> queued = await(async.jobsApi().build(FOLDER, JOB_NAME));
+        assertTrue(queued.isSuccess(), queued.getError());
+        assertNotNull(queued.getEntity());
+        ResponseResult<QueueItem> item = await(async.queueApi().queueItem(queued.getEntity()));
+        assertTrue(item.isSuccess(), item.getError());
+        assertEquals(item.getEntity().getId(), queued.getEntity().intValue());
+    }
+
+    @Test
+    public void testSystemAndStatistics() throws Exception
+    {
+        assertNotNull(await(async.systemApi().systemInfo()).getEntity().getJenkinsVersion());
+        assertTrue(await(async.statisticsApi().overallLoad()).isSuccess());
+    }
+
+    @Test
+    public void testMissingJob() throws Exception
+    {
+        ResponseResult<JobInfo> result = await(async.jobsApi().jobInfo(FOLDER, randomString()));
+        assertFalse(result.isSuccess());
+        assertEquals(result.getStatus(), 404);
+    }
+
+    private static <T> T await(CompletionStage<T> stage) throws Exception
+    {
+        return stage.toCompletableFuture().get(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.builds.BuildTracker;
+import com.cdancy.jenkins.rest.builds.TrackedBuild;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import java.util.concurrent.ExecutionException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "BuildTrackerLiveTest", singleThreaded = true)
+public class BuildTrackerLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "TrackedSleep";
+
+    private BuildTracker tracker;
+
+    @BeforeClass
+    public void init()
+    {
+        String config = payloadFromResource("/freestyle-project-sleep-task.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        tracker = new BuildTracker(api);
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        tracker.close();
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testTrackToCompletion() throws Exception
+    {
+        TrackedBuild build = tracker.trigger(null, JOB_NAME);
+        assertTrue(build.queueId() > 0);
+
+        BuildInfo buildInfo = build.completed().get(2, MINUTES);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        assertEquals(build.started().get().intValue(), buildInfo.getNumber());
+        assertEquals(build.queued().get().getId(), build.queueId());
+    }
+
+    @Test
+    public void testTrackQueuedBehindAnother() throws Exception
+    {
+        // the job does not run concurrently, the second build waits in the queue for the first one
+        TrackedBuild first = tracker.trigger(null, JOB_NAME);
+        TrackedBuild second = tracker.trigger(null, JOB_NAME);
+
+        BuildInfo firstInfo = first.completed().get(2, MINUTES);
+        BuildInfo secondInfo = second.completed().get(2, MINUTES);
+        assertNotEquals(secondInfo.getNumber(), firstInfo.getNumber());
+        assertTrue(secondInfo.getTimestamp() >= firstInfo.getTimestamp());
+    }
+
+    @Test
+    public void testRefusedTrigger()
+    {
+        TrackedBuild build = tracker.trigger(null, "Missing" + randomString());
+        assertEquals(build.queueId(), -1);
+        assertTrue(build.completed().isCompletedExceptionally());
+        assertThrows(ExecutionException.class, () -> build.started().get());
+    }
+
+    @Test
+    public void testClosedTrackerRejectsBuilds()
+    {
+        BuildTracker closed = new BuildTracker(api);
+        closed.close();
+        assertThrows(IllegalStateException.class, () -> closed.track(null, JOB_NAME, 1));
+    }
+}
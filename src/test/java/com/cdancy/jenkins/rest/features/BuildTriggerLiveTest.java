@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.bulk.BuildRequest;
+import com.cdancy.jenkins.rest.bulk.BuildTrigger;
+import com.cdancy.jenkins.rest.bulk.TriggerOutcome;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "BuildTriggerLiveTest", singleThreaded = true)
+public class BuildTriggerLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "BuildTriggerJob";
+    private static final int BUILDS = 5;
+
+    private BuildTrigger trigger;
+
+    @BeforeClass
+    public void init()
+    {
+        assertTrue(api.jobsApi().create(null, JOB_NAME, payloadFromResource("/freestyle-project.xml")).isSuccess());
+        trigger = new BuildTrigger(api.jobsApi(), api.statisticsApi(), 2, 2, 0.5, 1, Duration.ofSeconds(1));
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testLatestLoad()
+    {
+        ResponseResult<Map<String, Double>> load = api.statisticsApi().latestLoad(List.of("queueLength", "availableExecutors"));
+        assertTrue(load.isSuccess());
+        assertNotNull(load.getEntity().get("queueLength"));
+        assertNotNull(load.getEntity().get("availableExecutors"));
+    }
+
+    @Test
+    public void testTriggerPacesBuilds()
+    {
+        // distinct parameters, or Jenkins may fold the queued builds into one
+        List<BuildRequest> requests = IntStream.range(0, BUILDS)
+            .mapToObj(index -> new BuildRequest(JOB_NAME, Map.of("SomeKey", List.of("value" + index))))
+            .toList();
+        long start = System.nanoTime();
+        List<TriggerOutcome> outcomes;
+        try (Stream<TriggerOutcome> stream = trigger.trigger(requests))
+        {
+            outcomes = stream.toList();
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertEquals(outcomes.size(), BUILDS);
+        Set<Long> queueIds = new HashSet<>();
+        for (TriggerOutcome outcome : outcomes)
+        {
+            assertTrue(outcome.success(), outcome.toString());
+            queueIds.add(outcome.queueId());
+        }
+        assertEquals(queueIds.size(), BUILDS);
+        // at most two per second, the first without waiting
+        assertTrue(elapsed.toMillis() >= 1500, "Took " + elapsed);
+    }
+
+    @Test
+    public void testMissingJobIsReported()
+    {
+        BuildRequest missing = new BuildRequest(randomString(), Map.of());
+        List<TriggerOutcome> outcomes;
+        try (Stream<TriggerOutcome> stream = trigger.trigger(List.of(missing)))
+        {
+            outcomes = stream.toList();
+        }
+        assertEquals(outcomes.size(), 1);
+        TriggerOutcome outcome = outcomes.get(0);
+        assertFalse(outcome.success());
+        assertNull(outcome.queueId());
+        assertEquals(outcome.status(), 404);
+        assertEquals(outcome.request(), missing);
+    }
+}
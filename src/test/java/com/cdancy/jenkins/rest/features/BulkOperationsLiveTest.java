@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.bulk.BulkAction;
+import com.cdancy.jenkins.rest.bulk.BulkOperations;
+import com.cdancy.jenkins.rest.bulk.BulkOutcome;
+import com.cdancy.jenkins.rest.bulk.BulkReport;
+import com.cdancy.jenkins.rest.bulk.JobSelector;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "BulkOperationsLiveTest", singleThreaded = true)
+public class BulkOperationsLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "BulkTree";
+    private static final String LEGACY = ROOT_FOLDER + "/legacy";
+
+    private BulkOperations operations;
+
+    @BeforeClass
+    public void init()
+    {
+        String folder = payloadFromResource("/folder-config.xml");
+        String job = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "legacy", folder).isSuccess());
+        assertTrue(api.jobsApi().create(LEGACY, "nightly-1", job).isSuccess());
+        assertTrue(api.jobsApi().create(LEGACY, "nightly-2", job).isSuccess());
+        assertTrue(api.jobsApi().create(LEGACY, "keep", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "other", job).isSuccess());
+        operations = new BulkOperations(api.jobsApi(), 4, 20, 2);
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+    }
+
+    @Test
+    public void testDisableSelectedByGlob() throws IOException, InterruptedException
+    {
+        BulkReport report = operations.run(JobSelector.glob(ROOT_FOLDER, "legacy/nightly-*"), BulkAction.disable());
+        assertEquals(report.action(), "disable");
+        assertEquals(report.succeeded(), 2);
+        assertTrue(report.failures().isEmpty(), report.toString());
+        assertEquals(paths(report.outcomes()), Set.of(LEGACY + "/nightly-1", LEGACY + "/nightly-2"));
+
+        assertFalse(api.jobsApi().jobInfo(LEGACY, "nightly-1").getEntity().isBuildable());
+        assertFalse(api.jobsApi().jobInfo(LEGACY, "nightly-2").getEntity().isBuildable());
+        assertTrue(api.jobsApi().jobInfo(LEGACY, "keep").getEntity().isBuildable());
+    }
+
+    @Test(dependsOnMethods = "testDisableSelectedByGlob")
+    public void testFailuresReportedPerJob() throws InterruptedException
+    {
+        BulkReport report = operations.run(List.of(LEGACY + "/nightly-1", ROOT_FOLDER + "/missing"), BulkAction.enable());
+        assertEquals(report.succeeded(), 1);
+        assertEquals(report.outcomes().get(0).path(), LEGACY + "/nightly-1");
+        BulkOutcome failure = report.failures().get(0);
+        assertEquals(failure.path(), ROOT_FOLDER + "/missing");
+        assertEquals(failure.status(), 404);
+        // a missing job is not worth a retry
+        assertEquals(failure.attempts(), 1);
+        assertTrue(api.jobsApi().jobInfo(LEGACY, "nightly-1").getEntity().isBuildable());
+    }
+
+    @Test
+    public void testRenameThenDelete() throws IOException, InterruptedException
+    {
+        BulkReport renamed = operations.run(List.of(ROOT_FOLDER + "/other"), BulkAction.rename(name -> name + "-renamed"));
+        assertEquals(renamed.succeeded(), 1, renamed.toString());
+        assertTrue(api.jobsApi().jobInfo(ROOT_FOLDER, "other-renamed").isSuccess());
+
+        BulkReport deleted = operations.run(JobSelector.glob(ROOT_FOLDER, "**/*-renamed"), BulkAction.delete());
+        assertEquals(paths(deleted.outcomes()), Set.of(ROOT_FOLDER + "/other-renamed"));
+        assertEquals(deleted.succeeded(), 1);
+        assertFalse(api.jobsApi().jobInfo(ROOT_FOLDER, "other-renamed").isSuccess());
+    }
+
+    @Test
+    public void testUnresolvableSelection()
+    {
+        assertThrows(IOException.class,
+            () -> operations.run(JobSelector.glob(ROOT_FOLDER + "/missing", "*"), BulkAction.disable()));
+    }
+
+    private static Set<String> paths(List<BulkOutcome> outcomes)
+    {
+        return outcomes.stream().map(BulkOutcome::path).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.coalesce.CoalescingStats;
+import com.cdancy.jenkins.rest.domain.job.JobInfo;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "CoalescingLiveTest", singleThreaded = true)
+public class CoalescingLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "CoalescedReads";
+    private static final int CALLERS = 32;
+
+    private JenkinsApi coalescingApi;
+
+    @BeforeClass
+    public void init()
+    {
+        coalescingApi = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .coalesceRequests(JobsApi.class)
+            .build();
+        String config = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        coalescingApi.close();
+    }
+
+    @Test
+    public void testNoStatsWithoutCoalescing()
+    {
+        assertTrue(api.coalescingStats().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentReadsShareRequests() throws Exception
+    {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ResponseResult<JobInfo>>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (int i = 0; i < CALLERS; i++)
+            {
+                results.add(executor.submit(() ->
+                {
+                    start.await();
+                    return coalescingApi.jobsApi().jobInfo(null, JOB_NAME);
+                }));
+            }
+            start.countDown();
+            for (Future<ResponseResult<JobInfo>> result : results)
+            {
+                assertTrue(result.get().isSuccess(), result.get().getError());
+                assertEquals(result.get().getEntity().getName(), JOB_NAME);
+            }
+        }
+
+        CoalescingStats stats = coalescingApi.coalescingStats().orElseThrow();
+        assertEquals(stats.calls(), CALLERS);
+        assertTrue(stats.coalesced() > 0, "no call shared a request: " + stats);
+        assertEquals(stats.inFlight(), 0);
+    }
+
+    @Test(dependsOnMethods = "testConcurrentReadsShareRequests")
+    public void testWritesAreNotCoalesced()
+    {
+        long calls = coalescingApi.coalescingStats().orElseThrow().calls();
+        assertTrue(coalescingApi.jobsApi().description(null, JOB_NAME, "coalesced").isSuccess());
+        assertEquals(coalescingApi.coalescingStats().orElseThrow().calls(), calls);
+    }
+}
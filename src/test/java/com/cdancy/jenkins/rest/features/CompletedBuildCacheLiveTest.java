@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.cache.CompletedBuildKey;
+import com.cdancy.jenkins.rest.cache.DiskCompletedBuildCache;
+import com.cdancy.jenkins.rest.cache.InMemoryCompletedBuildCache;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "CompletedBuildCacheLiveTest", singleThreaded = true)
+public class CompletedBuildCacheLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "CompletedBuildCache";
+    private static final String FOLDER_NAME = "CompletedBuildCacheFolder";
+
+    private Path directory;
+    private DiskCompletedBuildCache diskCache;
+    private InMemoryCompletedBuildCache cache;
+    private JenkinsApi cachingApi;
+    private int buildNumber;
+
+    @BeforeClass
+    public void init() throws IOException, InterruptedException
+    {
+        directory = Files.createTempDirectory("completed-builds");
+        diskCache = new DiskCompletedBuildCache(directory, 1024 * 1024);
+        cache = new InMemoryCompletedBuildCache(100, diskCache);
+        cachingApi = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .completedBuildCache(cache)
+            .build();
+        String config = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertNotNull(buildInfo.getResult());
+        buildNumber = buildInfo.getNumber();
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        api.jobsApi().delete(null, FOLDER_NAME);
+        cachingApi.close();
+        try (Stream<Path> files = Files.walk(directory))
+        {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList())
+            {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Test
+    public void testFinishedBuildServedFromCache()
+    {
+        CompletedBuildKey key = CompletedBuildKey.of(null, JOB_NAME, buildNumber, "buildInfo");
+        assertNull(cache.get(key, BuildInfo.class));
+
+        ResponseResult<BuildInfo> fetched = cachingApi.jobsApi().buildInfo(null, JOB_NAME, buildNumber);
+        assertTrue(fetched.isSuccess(), fetched.getError());
+        assertNotNull(cache.get(key, BuildInfo.class));
+        assertNotNull(diskCache.get(key, BuildInfo.class));
+
+        ResponseResult<BuildInfo> cached = cachingApi.jobsApi().buildInfo(null, JOB_NAME, buildNumber);
+        assertTrue(cached.isSuccess());
+        assertEquals(cached.getEntity().getNumber(), buildNumber);
+        assertEquals(cached.getEntity().getResult(), fetched.getEntity().getResult());
+    }
+
+    @Test(dependsOnMethods = "testFolderDeleteDropsNestedBuilds")
+    public void testDeleteDropsCachedBuilds()
+    {
+        CompletedBuildKey key = CompletedBuildKey.of("", JOB_NAME, buildNumber, "buildInfo");
+        assertTrue(cachingApi.jobsApi().delete(null, JOB_NAME).isSuccess());
+        assertNull(cache.get(key, BuildInfo.class));
+        assertNull(diskCache.get(key, BuildInfo.class));
+    }
+
+    @Test(dependsOnMethods = "testFinishedBuildServedFromCache")
+    public void testFolderDeleteDropsNestedBuilds()
+    {
+        BuildInfo buildInfo = cache.get(CompletedBuildKey.of(null, JOB_NAME, buildNumber, "buildInfo"), BuildInfo.class);
+        assertNotNull(buildInfo);
+        assertTrue(api.jobsApi().create(null, FOLDER_NAME, payloadFromResource("/folder-config.xml")).isSuccess());
+
+        CompletedBuildKey nested = CompletedBuildKey.of(FOLDER_NAME + "/Sub", "Nested", 1, "buildInfo");
+        CompletedBuildKey sibling = CompletedBuildKey.of(null, FOLDER_NAME + "Sibling", 1, "buildInfo");
+        cache.put(nested, BuildInfo.class, buildInfo);
+        cache.put(sibling, BuildInfo.class, buildInfo);
+
+        assertTrue(cachingApi.jobsApi().delete(null, FOLDER_NAME).isSuccess());
+        assertNull(cache.get(nested, BuildInfo.class));
+        assertNull(diskCache.get(nested, BuildInfo.class));
+        assertNotNull(cache.get(sibling, BuildInfo.class));
+        assertNotNull(diskCache.get(sibling, BuildInfo.class));
+    }
+}
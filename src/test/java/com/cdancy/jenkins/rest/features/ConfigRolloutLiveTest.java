@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.bulk.BulkOperations;
+import com.cdancy.jenkins.rest.bulk.ConfigRollout;
+import com.cdancy.jenkins.rest.bulk.JobSelector;
+import com.cdancy.jenkins.rest.bulk.RolloutReport;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ConfigRolloutLiveTest", singleThreaded = true)
+public class ConfigRolloutLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "RolloutTree";
+    private static final List<String> JOBS = List.of("j1", "j2", "j3", "j4");
+
+    private String config;
+    private ConfigRollout rollout;
+
+    @BeforeClass
+    public void init()
+    {
+        config = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, payloadFromResource("/folder-config.xml")).isSuccess());
+        for (String job : JOBS)
+        {
+            assertTrue(api.jobsApi().create(ROOT_FOLDER, job, config).isSuccess());
+        }
+        rollout = new ConfigRollout(new BulkOperations(api.jobsApi(), 2, 20, 1), 1, 2, 0);
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+    }
+
+    @Test
+    public void testFormattingIsNotADifference() throws IOException, InterruptedException
+    {
+        String reformatted = config
+            .replace("<project>", "<project>\n  <!-- reformatted -->")
+            .replace("\n  ", "\n      ")
+            .replace("<scm class=\"hudson.scm.NullSCM\"/>", "<scm class='hudson.scm.NullSCM'></scm>")
+            .replace("\n", "\r\n");
+        RolloutReport report = rollout.rollout(JobSelector.glob(ROOT_FOLDER, "*"), reformatted);
+        assertTrue(report.updated().isEmpty(), report.toString());
+        assertEquals(report.unchanged(), JOBS.size());
+        assertFalse(report.halted());
+    }
+
+    @Test(dependsOnMethods = "testFormattingIsNotADifference")
+    public void testWritesOnlyDifferingJobs() throws IOException, InterruptedException
+    {
+        String desired = withDescription("RolledOut");
+        RolloutReport canary = rollout.rollout(JobSelector.of(List.of(ROOT_FOLDER + "/j1")), desired);
+        assertEquals(canary.updated(), Set.of(ROOT_FOLDER + "/j1"));
+
+        RolloutReport report = rollout.rollout(JobSelector.glob(ROOT_FOLDER, "*"), desired);
+        assertEquals(report.updated(), Set.of(ROOT_FOLDER + "/j2", ROOT_FOLDER + "/j3", ROOT_FOLDER + "/j4"));
+        assertEquals(report.unchanged(), 1);
+        assertTrue(report.failures().isEmpty());
+        assertEquals(api.jobsApi().description(ROOT_FOLDER, "j4").getEntity(), "RolledOut");
+    }
+
+    @Test(dependsOnMethods = "testWritesOnlyDifferingJobs")
+    public void testWhitespaceOnlyContentIsADifference() throws IOException, InterruptedException
+    {
+        JobSelector j4 = JobSelector.of(List.of(ROOT_FOLDER + "/j4"));
+        assertEquals(rollout.rollout(j4, withDescription("")).updated().size(), 1);
+        // Jenkins keeps a blank description, so it is a change rather than formatting
+        assertEquals(rollout.rollout(j4, withDescription(" ")).updated().size(), 1);
+        assertEquals(rollout.rollout(j4, withDescription(" ")).unchanged(), 1);
+    }
+
+    @Test(dependsOnMethods = "testWhitespaceOnlyContentIsADifference")
+    public void testConfigPerJob() throws InterruptedException
+    {
+        List<String> paths = JOBS.stream().map(job -> ROOT_FOLDER + "/" + job).toList();
+        RolloutReport report = rollout.rollout(paths, (path, current) ->
+            current.replaceFirst("<description>[^<]*</description>", "<description>" + path + "</description>"));
+        assertEquals(report.updated(), Set.copyOf(paths));
+        assertEquals(api.jobsApi().description(ROOT_FOLDER, "j2").getEntity(), ROOT_FOLDER + "/j2");
+    }
+
+    @Test
+    public void testFailedCanaryHalts() throws InterruptedException
+    {
+        RolloutReport report = rollout.rollout(List.of(ROOT_FOLDER + "/missing", ROOT_FOLDER + "/j1"),
+            (path, current) -> withDescription("Never"));
+        assertTrue(report.halted());
+        assertEquals(report.failures().size(), 1);
+        assertEquals(report.failures().get(0).status(), 404);
+        assertEquals(report.notAttempted(), List.of(ROOT_FOLDER + "/j1"));
+        assertTrue(report.updated().isEmpty());
+    }
+
+    private String withDescription(String description)
+    {
+        return config.replace("<description>HelloWorld</description>", "<description>" + description + "</description>");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.config.ConfigXml;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import javax.xml.stream.XMLStreamException;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ConfigStreamLiveTest", singleThreaded = true)
+public class ConfigStreamLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String FOLDER = "ConfigStreamFolder";
+
+    private String config;
+    private Path configFile;
+
+    @BeforeClass
+    public void init() throws IOException
+    {
+        config = payloadFromResource("/freestyle-project-no-params.xml");
+        configFile = Files.createTempFile("config", ".xml");
+        Files.writeString(configFile, config.replace("HelloWorld", "FromPath"));
+        assertTrue(api.jobsApi().create(null, FOLDER, payloadFromResource("/folder-config.xml")).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup() throws IOException
+    {
+        api.jobsApi().delete(null, FOLDER);
+        Files.deleteIfExists(configFile);
+    }
+
+    @Test
+    public void testCreateFromStream() throws IOException
+    {
+        try (InputStream upload = new ByteArrayInputStream(config.getBytes(StandardCharsets.UTF_8)))
+        {
+            assertTrue(api.jobsApi().create(FOLDER, "streamed", upload).isSuccess());
+        }
+        assertEquals(api.jobsApi().description(FOLDER, "streamed").getEntity(), "HelloWorld");
+    }
+
+    @Test
+    public void testCreateFromPath()
+    {
+        assertTrue(api.jobsApi().create(FOLDER, "fromPath", configFile).isSuccess());
+        assertEquals(api.jobsApi().description(FOLDER, "fromPath").getEntity(), "FromPath");
+    }
+
+    @Test(dependsOnMethods = "testCreateFromStream")
+    public void testConfigStream() throws IOException
+    {
+        try (ResponseResult<InputStream> result = api.jobsApi().configStream(FOLDER, "streamed"))
+        {
+            assertTrue(result.isSuccess());
+            String downloaded = new String(result.getEntity().readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(downloaded.contains("<description>HelloWorld</description>"));
+        }
+    }
+
+    @Test(dependsOnMethods = "testCreateFromStream")
+    public void testConfigReader() throws IOException
+    {
+        try (ResponseResult<Reader> result = api.jobsApi().configReader(FOLDER, "streamed"))
+        {
+            assertTrue(result.isSuccess());
+            String downloaded = new BufferedReader(result.getEntity()).lines().collect(Collectors.joining("\n"));
+            assertTrue(downloaded.contains("<disabled>false</disabled>"));
+        }
+    }
+
+    @Test(dependsOnMethods = "testCreateFromStream")
+    public void testConfigElement()
+    {
+        ResponseResult<String> disabled = api.jobsApi().configElement(FOLDER, "streamed", "/project/disabled");
+        assertTrue(disabled.isSuccess());
+        assertEquals(disabled.getEntity(), "false");
+        assertEquals(api.jobsApi().configElement(FOLDER, "streamed", "description").getEntity(), "HelloWorld");
+
+        ResponseResult<String> missing = api.jobsApi().configElement(FOLDER, "streamed", "/project/notThere");
+        assertTrue(missing.isSuccess());
+        assertNull(missing.getEntity());
+    }
+
+    @Test
+    public void testConfigElementOfMissingJob()
+    {
+        ResponseResult<String> result = api.jobsApi().configElement(FOLDER, "missing", "/project/disabled");
+        assertFalse(result.isSuccess());
+        assertEquals(result.getStatus(), 404);
+    }
+
+    @Test(dependsOnMethods = {"testCreateFromStream", "testConfigStream", "testConfigReader", "testConfigElement"})
+    public void testUpdateFromStreamAndPath() throws IOException
+    {
+        try (InputStream upload = new ByteArrayInputStream(
+            config.replace("HelloWorld", "Updated").getBytes(StandardCharsets.UTF_8)))
+        {
+            assertTrue(api.jobsApi().config(FOLDER, "streamed", upload).isSuccess());
+        }
+        assertEquals(api.jobsApi().configElement(FOLDER, "streamed", "description").getEntity(), "Updated");
+
+        assertTrue(api.jobsApi().config(FOLDER, "streamed", configFile).isSuccess());
+        assertEquals(api.jobsApi().configElement(FOLDER, "streamed", "description").getEntity(), "FromPath");
+    }
+
+    @Test
+    public void testElementStopsAtMatch() throws XMLStreamException
+    {
+        // the stream is malformed after the match, so reading past it would fail
+        InputStream xml = new ByteArrayInputStream(
+            "<project><disabled>true</disabled><broken></project>".getBytes(StandardCharsets.UTF_8));
+        assertEquals(ConfigXml.element(xml, "/project/disabled"), "true");
+    }
+}
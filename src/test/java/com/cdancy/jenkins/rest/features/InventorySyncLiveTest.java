@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.inventory.InventoryEvent;
+import com.cdancy.jenkins.rest.inventory.InventorySync;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "InventorySyncLiveTest", singleThreaded = true)
+public class InventorySyncLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "SyncedTree";
+
+    private String job;
+    private InventorySync sync;
+
+    @BeforeClass
+    public void init()
+    {
+        String folder = payloadFromResource("/folder-config.xml");
+        job = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "a", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "job1", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a", "job2", job).isSuccess());
+        sync = new InventorySync(api.jobsApi(), ROOT_FOLDER, 3);
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+    }
+
+    @Test
+    public void testFirstCycleAddsEveryJob() throws IOException
+    {
+        List<InventoryEvent> events = sync(2);
+        for (InventoryEvent event : events)
+        {
+            assertEquals(event.kind(), InventoryEvent.Kind.ADDED);
+            assertNotNull(event.current().configHash());
+        }
+        assertEquals(sync.snapshot().keySet(), Set.of(ROOT_FOLDER + "/job1", ROOT_FOLDER + "/a/job2"));
+    }
+
+    @Test(dependsOnMethods = "testFirstCycleAddsEveryJob")
+    public void testQuietCycle() throws IOException
+    {
+        sync(0);
+    }
+
+    @Test(dependsOnMethods = "testQuietCycle")
+    public void testAddedChangedRemoved() throws IOException, InterruptedException
+    {
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "job3", job).isSuccess());
+        assertTrue(api.jobsApi().delete(ROOT_FOLDER + "/a", "job2").isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(ROOT_FOLDER, "job1").getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+
+        List<InventoryEvent> events = sync(3);
+        assertEquals(events.get(0).kind(), InventoryEvent.Kind.ADDED);
+        assertEquals(events.get(0).path(), ROOT_FOLDER + "/job3");
+        assertEquals(events.get(1).kind(), InventoryEvent.Kind.CHANGED);
+        assertEquals(events.get(1).path(), ROOT_FOLDER + "/job1");
+        assertNotNull(events.get(1).jobInfo());
+        assertEquals(events.get(1).current().summary().lastBuildNumber(), Integer.valueOf(1));
+        assertEquals(events.get(2).kind(), InventoryEvent.Kind.REMOVED);
+        assertEquals(events.get(2).path(), ROOT_FOLDER + "/a/job2");
+        assertNull(sync.get(ROOT_FOLDER + "/a/job2"));
+    }
+
+    @Test(dependsOnMethods = "testAddedChangedRemoved")
+    public void testConfigOnlyEdit() throws IOException
+    {
+        // a new description changes the config but neither the color nor the last build
+        assertTrue(api.jobsApi().description(ROOT_FOLDER, "job3", "edited " + randomString()).isSuccess());
+        List<InventoryEvent> events = sync(1);
+        assertEquals(events.get(0).kind(), InventoryEvent.Kind.CHANGED);
+        assertEquals(events.get(0).path(), ROOT_FOLDER + "/job3");
+        assertTrue(events.get(0).configChanged());
+    }
+
+    private List<InventoryEvent> sync(int expectedEvents) throws IOException
+    {
+        List<InventoryEvent> events = new ArrayList<>();
+        assertEquals(sync.sync(events::add), expectedEvents);
+        assertEquals(events.size(), expectedEvents, events.toString());
+        return events;
+    }
+}
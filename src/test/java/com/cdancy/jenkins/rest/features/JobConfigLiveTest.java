@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.config.JobConfig;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "JobConfigLiveTest", singleThreaded = true)
+public class JobConfigLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "JobConfigRoundTrip";
+
+    private String config;
+
+    @BeforeClass
+    public void init()
+    {
+        config = payloadFromResource("/freestyle-project.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testTypedReads() throws IOException
+    {
+        JobConfig jobConfig = JobConfig.of(new StringReader(config));
+        assertEquals(jobConfig.get("/project/description"), "HelloWorld");
+        assertEquals(jobConfig.get("parameterDefinitions/*/description"), "whatever");
+        assertEquals(jobConfig.getBoolean("disabled"), Boolean.FALSE);
+        assertEquals(jobConfig.parameterNames(), List.of("SomeKey"));
+        assertTrue(jobConfig.triggers().isEmpty());
+        assertEquals(jobConfig.children("/project/properties"), List.of("hudson.model.ParametersDefinitionProperty"));
+        assertTrue(jobConfig.has("scm"));
+        assertFalse(jobConfig.has("/scm"));
+        assertNull(jobConfig.get("notThere"));
+        assertEquals(jobConfig.xml(), config);
+    }
+
+    @Test
+    public void testEntitiesAndCData()
+    {
+        JobConfig jobConfig = JobConfig.of("<a><b><![CDATA[<x>]]></b><c>&amp;&lt;</c><d/></a>");
+        assertEquals(jobConfig.get("b"), "<x>");
+        assertEquals(jobConfig.get("c"), "&<");
+        assertEquals(jobConfig.get("d"), "");
+    }
+
+    @Test
+    public void testEditsAreSplicedInPlace()
+    {
+        JobConfig jobConfig = JobConfig.of(config)
+            .set("/project/description", "a & <b>")
+            .set("disabled", true)
+            .set("parameterDefinitions/*/defaultValue", "Other");
+        String expected = config
+            .replace("<description>HelloWorld</description>", "<description>a &amp; &lt;b&gt;</description>")
+            .replace("<disabled>false</disabled>", "<disabled>true</disabled>")
+            .replace("<defaultValue>SomeValue</defaultValue>", "<defaultValue>Other</defaultValue>");
+        assertEquals(jobConfig.xml(), expected);
+        assertEquals(jobConfig.get("description"), "a & <b>");
+        assertEquals(jobConfig.get("defaultValue"), "Other");
+        assertEquals(jobConfig.getBoolean("disabled"), Boolean.TRUE);
+    }
+
+    @Test
+    public void testEmptyElementIsExpanded()
+    {
+        JobConfig jobConfig = JobConfig.of(config).set("scm", "x").set("concurrentBuild", true);
+        String expected = config
+            .replace("<scm class=\"hudson.scm.NullSCM\"/>", "<scm class=\"hudson.scm.NullSCM\">x</scm>")
+            .replace("<concurrentBuild>false</concurrentBuild>", "<concurrentBuild>true</concurrentBuild>");
+        assertEquals(jobConfig.xml(), expected);
+        assertEquals(jobConfig.get("scm"), "x");
+    }
+
+    @Test
+    public void testMismatchedEndTag()
+    {
+        assertThrows(IllegalArgumentException.class, () -> JobConfig.of("<a><b>x</c></a>").get("b"));
+        assertThrows(IllegalArgumentException.class, () -> JobConfig.of("<a><b>x</bb></a>").get("b"));
+        assertEquals(JobConfig.of("<a><b>x</b ></a>").get("b"), "x");
+    }
+
+    @Test
+    public void testInvalidEdits()
+    {
+        JobConfig jobConfig = JobConfig.of(config);
+        assertThrows(IllegalArgumentException.class, () -> jobConfig.set("notThere", "x"));
+        assertThrows(IllegalArgumentException.class, () -> jobConfig.set("properties", "x"));
+        assertThrows(IllegalArgumentException.class, () -> jobConfig.get("properties"));
+        assertEquals(jobConfig.xml(), config);
+    }
+
+    @Test
+    public void testRoundTrip()
+    {
+        ResponseResult<JobConfig> result = api.jobsApi().jobConfig(null, JOB_NAME);
+        assertTrue(result.isSuccess());
+        JobConfig jobConfig = result.getEntity().set("description", "Edited").set("disabled", true);
+        assertTrue(api.jobsApi().config(null, JOB_NAME, jobConfig).isSuccess());
+
+        assertEquals(api.jobsApi().description(null, JOB_NAME).getEntity(), "Edited");
+        JobConfig saved = api.jobsApi().jobConfig(null, JOB_NAME).getEntity();
+        assertEquals(saved.getBoolean("disabled"), Boolean.TRUE);
+        assertEquals(saved.parameterNames(), List.of("SomeKey"));
+    }
+
+    @Test
+    public void testJobConfigOfMissingJob()
+    {
+        ResponseResult<JobConfig> result = api.jobsApi().jobConfig(null, randomString());
+        assertFalse(result.isSuccess());
+        assertEquals(result.getStatus(), 404);
+        assertNull(result.getEntity());
+    }
+}
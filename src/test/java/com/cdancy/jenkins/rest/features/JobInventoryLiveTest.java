@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.inventory.JobInventory;
+import com.cdancy.jenkins.rest.inventory.JobSummary;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "JobInventoryLiveTest", singleThreaded = true)
+public class JobInventoryLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "InventoryTree";
+
+    @BeforeClass
+    public void init() throws InterruptedException
+    {
+        String folder = payloadFromResource("/folder-config.xml");
+        String job = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "a", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a", "b", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "job1", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a", "job2", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a/b", "job3", job).isSuccess());
+
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(ROOT_FOLDER, "job1").getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+    }
+
+    @Test
+    public void testTree()
+    {
+        assertEquals(JobInventory.tree(1), "jobs[name,color]");
+        assertEquals(JobInventory.tree(2, true), "jobs[name,color,lastBuild[number],jobs[name,color,lastBuild[number]]]");
+    }
+
+    @Test
+    public void testInventoryOfFolder()
+    {
+        assertEquals(paths(3), Set.of(ROOT_FOLDER + "/job1", ROOT_FOLDER + "/a/job2", ROOT_FOLDER + "/a/b/job3"));
+        // folders at the deepest level are not expanded
+        assertEquals(paths(2), Set.of(ROOT_FOLDER + "/job1", ROOT_FOLDER + "/a/job2"));
+        assertEquals(paths(1), Set.of(ROOT_FOLDER + "/job1"));
+    }
+
+    @Test
+    public void testSummariesWithLastBuild()
+    {
+        Map<String, JobSummary> summaries = new HashMap<>();
+        ResponseResult<JobInventory> result = api.jobsApi().jobInventory(ROOT_FOLDER, 3, true);
+        assertTrue(result.isSuccess(), result.getError());
+        try (JobInventory inventory = result.getEntity())
+        {
+            Iterator<JobSummary> iterator = inventory.summaries();
+            while (iterator.hasNext())
+            {
+                JobSummary summary = iterator.next();
+                summaries.put(summary.path(), summary);
+            }
+        }
+        assertEquals(summaries.size(), 3);
+        JobSummary job1 = summaries.get(ROOT_FOLDER + "/job1");
+        assertEquals(job1.lastBuildNumber(), Integer.valueOf(1));
+        assertEquals(job1.folderPath(), ROOT_FOLDER);
+        assertEquals(job1.jobName(), "job1");
+        JobSummary job3 = summaries.get(ROOT_FOLDER + "/a/b/job3");
+        assertNull(job3.lastBuildNumber());
+        assertEquals(job3.color(), "notbuilt");
+        assertEquals(job3.folderPath(), ROOT_FOLDER + "/a/b");
+    }
+
+    @Test
+    public void testInventoryFromJenkinsRoot()
+    {
+        Set<String> paths = new HashSet<>();
+        try (JobInventory inventory = api.jobsApi().jobInventory(4).getEntity())
+        {
+            inventory.forEachRemaining(paths::add);
+        }
+        assertTrue(paths.contains(ROOT_FOLDER + "/a/b/job3"));
+    }
+
+    private Set<String> paths(int depthLimit)
+    {
+        Set<String> paths = new HashSet<>();
+        ResponseResult<JobInventory> result = api.jobsApi().jobInventory(ROOT_FOLDER, depthLimit);
+        assertTrue(result.isSuccess(), result.getError());
+        try (JobInventory inventory = result.getEntity())
+        {
+            inventory.forEachRemaining(paths::add);
+        }
+        return paths;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.inventory.JobTreeCrawler;
+import com.cdancy.jenkins.rest.search.JobSearchIndex;
+import java.io.IOException;
+import java.util.List;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "JobSearchIndexLiveTest", singleThreaded = true)
+public class JobSearchIndexLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "SearchedTree";
+    private static final String DEPLOY = ROOT_FOLDER + "/deploy-service";
+    private static final String BUILD = ROOT_FOLDER + "/build-service";
+    private static final String NIGHTLY = ROOT_FOLDER + "/nightly-report";
+
+    private JobSearchIndex index;
+    private JenkinsApi indexingApi;
+
+    @BeforeClass
+    public void init()
+    {
+        index = new JobSearchIndex();
+        indexingApi = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .jobSearchIndex(index)
+            .build();
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, payloadFromResource("/folder-config.xml")).isSuccess());
+        String job = payloadFromResource("/freestyle-project-no-params.xml");
+        // freestyle-project.xml declares the parameter SomeKey
+        assertTrue(indexingApi.jobsApi().create(ROOT_FOLDER, "deploy-service", payloadFromResource("/freestyle-project.xml")).isSuccess());
+        assertTrue(indexingApi.jobsApi().create(ROOT_FOLDER, "build-service", job).isSuccess());
+        assertTrue(indexingApi.jobsApi().create(ROOT_FOLDER, "nightly-report", job).isSuccess());
+        assertTrue(indexingApi.jobsApi().description(ROOT_FOLDER, "nightly-report", "Publishes the coverage report").isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+        indexingApi.close();
+    }
+
+    @Test
+    public void testIndexedThroughJobsApi()
+    {
+        assertEquals(index.size(), 3);
+        assertEquals(index.search("service", 10), List.of(BUILD, DEPLOY));
+        assertEquals(index.search("somekey", 10), List.of(DEPLOY));
+        assertEquals(index.search("coverage", 10), List.of(NIGHTLY));
+        assertEquals(index.search("dep ser", 10), List.of(DEPLOY));
+        assertEquals(index.search("service", 1).size(), 1);
+        assertTrue(index.search("missing", 10).isEmpty());
+    }
+
+    @Test
+    public void testCrawlThenRefresh() throws IOException, InterruptedException
+    {
+        JobSearchIndex crawled = new JobSearchIndex();
+        new JobTreeCrawler(api.jobsApi()).crawl(ROOT_FOLDER, crawled::add);
+        assertEquals(crawled.size(), 3);
+        assertEquals(crawled.search("nightly", 10), List.of(NIGHTLY));
+        // a crawl only knows the names
+        assertTrue(crawled.search("somekey", 10).isEmpty());
+
+        assertTrue(crawled.refresh(api.jobsApi(), ROOT_FOLDER, "deploy-service"));
+        assertEquals(crawled.search("somekey", 10), List.of(DEPLOY));
+        assertFalse(crawled.refresh(api.jobsApi(), ROOT_FOLDER, "missing"));
+    }
+
+    @Test(dependsOnMethods = {"testIndexedThroughJobsApi", "testCrawlThenRefresh"})
+    public void testRenameAndDelete()
+    {
+        assertTrue(indexingApi.jobsApi().rename(ROOT_FOLDER, "nightly-report", "weekly-report").isSuccess());
+        assertEquals(index.search("weekly", 10), List.of(ROOT_FOLDER + "/weekly-report"));
+        assertEquals(index.search("coverage", 10), List.of(ROOT_FOLDER + "/weekly-report"));
+        assertTrue(index.search("nightly", 10).isEmpty());
+
+        assertTrue(indexingApi.jobsApi().delete(ROOT_FOLDER, "build-service").isSuccess());
+        assertEquals(index.search("service", 10), List.of(DEPLOY));
+        assertEquals(index.size(), 2);
+    }
+}
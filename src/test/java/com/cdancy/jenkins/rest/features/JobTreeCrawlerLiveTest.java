@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.job.Job;
+import com.cdancy.jenkins.rest.inventory.JobTreeCrawler;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "JobTreeCrawlerLiveTest", singleThreaded = true)
+public class JobTreeCrawlerLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String ROOT_FOLDER = "CrawledTree";
+
+    @BeforeClass
+    public void init()
+    {
+        String folder = payloadFromResource("/folder-config.xml");
+        String job = payloadFromResource("/freestyle-project-no-params.xml");
+        assertTrue(api.jobsApi().create(null, ROOT_FOLDER, folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "a", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a", "b", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "empty", folder).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER, "job1", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a", "job2", job).isSuccess());
+        assertTrue(api.jobsApi().create(ROOT_FOLDER + "/a/b", "job3", job).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, ROOT_FOLDER);
+    }
+
+    @Test
+    public void testCrawlFolderTree() throws IOException, InterruptedException
+    {
+        Map<String, Job> items = new HashMap<>();
+        long count = new JobTreeCrawler(api.jobsApi(), 2).crawl(ROOT_FOLDER, items::put);
+        assertEquals(count, 6);
+        assertEquals(items.keySet(), Set.of(ROOT_FOLDER + "/a", ROOT_FOLDER + "/empty", ROOT_FOLDER + "/job1",
+            ROOT_FOLDER + "/a/b", ROOT_FOLDER + "/a/job2", ROOT_FOLDER + "/a/b/job3"));
+        Job job3 = items.get(ROOT_FOLDER + "/a/b/job3");
+        assertEquals(job3.name(), "job3");
+        assertEquals(job3.color(), "notbuilt");
+    }
+
+    @Test
+    public void testCrawlFromJenkinsRoot() throws IOException, InterruptedException
+    {
+        Map<String, Job> items = new HashMap<>();
+        new JobTreeCrawler(api.jobsApi()).crawl(null, items::put);
+        assertTrue(items.containsKey(ROOT_FOLDER));
+        assertTrue(items.containsKey(ROOT_FOLDER + "/a/b/job3"));
+    }
+
+    @Test
+    public void testCrawlMissingFolder()
+    {
+        assertThrows(IOException.class,
+            () -> new JobTreeCrawler(api.jobsApi()).crawl(ROOT_FOLDER + "/missing", (path, item) -> {
+            }));
+    }
+}
@@ -25,6 +25,7 @@ import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
 import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.common.Projection;
 import com.cdancy.jenkins.rest.domain.job.Action;
 import com.cdancy.jenkins.rest.domain.job.BuildInfo;
 import com.cdancy.jenkins.rest.domain.job.Cause;
@@ -205,6 +206,16 @@ public class JobsApiLiveTest extends BaseJenkinsApiLiveTest
         assertTrue(output.getBuilds().isEmpty());
     }
 
+    @Test(dependsOnMethods = "testGetJobInfo")
+    public void testGetJobInfoWithProjection()
+    {
+        JobInfo output = api().jobInfo(null, "DevTest", Projection.of(JobInfo.class).fields("name", "color")).getEntity();
+        assertNotNull(output);
+        assertEquals(output.getName(), "DevTest");
+        assertNotNull(output.getColor());
+        assertNull(output.getDescription());
+    }
+
     @Test(dependsOnMethods = "testGetJobInfo")
     public void testLastBuildNumberOnJobWithNoBuilds()
     {
@@ -733,9 +744,11 @@ public class JobsApiLiveTest extends BaseJenkinsApiLiveTest
         // Before we exit the test, wait until the job runs
         QueueItem queueItem = getRunningQueueItem(artifactBuildId);
         var buildInfo = getCompletedBuild(PIPELINE_WITH_ARTIFACT_JOB_NAME, queueItem);
-        var artifact = api().artifactInFolder(null, PIPELINE_WITH_ARTIFACT_JOB_NAME, buildInfo.getNumber(), buildInfo.getArtifacts().getFirst().getRelativePath());
-        assertTrue(artifact.isSuccess());
-        assertEquals(new String(artifact.getEntity().readAllBytes()), "Hello artifact!\n");
+        try (var artifact = api().artifactInFolder(null, PIPELINE_WITH_ARTIFACT_JOB_NAME, buildInfo.getNumber(), buildInfo.getArtifacts().getFirst().getRelativePath()))
+        {
+            assertTrue(artifact.isSuccess());
+            assertEquals(new String(artifact.getEntity().readAllBytes()), "Hello artifact!\n");
+        }
     }
 
 
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.logs.LogLine;
+import com.cdancy.jenkins.rest.logs.LogTailer;
+import com.cdancy.jenkins.rest.logs.TailProgress;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "LogTailerLiveTest", singleThreaded = true)
+public class LogTailerLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "TailedSleep";
+
+    private LogTailer tailer;
+    private int buildNumber;
+    private String log;
+
+    @BeforeClass
+    public void init() throws InterruptedException
+    {
+        String config = payloadFromResource("/freestyle-project-sleep-task.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        tailer = new LogTailer(api.jobsApi());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        buildNumber = queueItem.getExecutable().getNumber();
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testTailRunningBuild() throws IOException, InterruptedException
+    {
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        long end = tailer.tail(null, JOB_NAME, buildNumber, 0, sink);
+        log = sink.toString(UTF_8);
+        assertEquals(end, sink.size());
+        assertTrue(log.contains("begin"), log);
+        assertTrue(log.contains("end"), log);
+        assertTrue(log.contains("Finished: SUCCESS"), log);
+
+        // tail only returns once the build is over
+        BuildInfo buildInfo = api.jobsApi().buildInfo(null, JOB_NAME, buildNumber).getEntity();
+        assertFalse(buildInfo.isBuilding());
+    }
+
+    @Test(dependsOnMethods = "testTailRunningBuild")
+    public void testPollFromOffset() throws IOException
+    {
+        byte[] whole = log.getBytes(UTF_8);
+        int start = log.substring(0, log.indexOf("end")).getBytes(UTF_8).length;
+        ByteArrayOutputStream sink = new ByteArrayOutputStream();
+        TailProgress progress = tailer.poll(null, JOB_NAME, buildNumber, start, Channels.newChannel(sink));
+        assertFalse(progress.moreData());
+        assertEquals(progress.nextOffset(), whole.length);
+        assertEquals(progress.bytesWritten(), whole.length - start);
+        assertEquals(sink.toByteArray(), Arrays.copyOfRange(whole, start, whole.length));
+    }
+
+    @Test(dependsOnMethods = "testTailRunningBuild")
+    public void testLinesWithBackpressure() throws InterruptedException
+    {
+        LineCollector collector = new LineCollector(1);
+        tailer.lines(null, JOB_NAME, buildNumber, 0).subscribe(collector);
+        assertTrue(collector.done.await(1, TimeUnit.MINUTES));
+        assertNull(collector.error);
+        assertEquals(collector.lines, Arrays.asList(log.split("\r?\n")));
+        assertEquals(collector.offsets.get(0).longValue(), 0);
+    }
+
+    @Test
+    public void testLinesRejectNonPositiveRequest() throws InterruptedException
+    {
+        LineCollector collector = new LineCollector(0);
+        tailer.lines(null, JOB_NAME, buildNumber, 0).subscribe(collector);
+        assertTrue(collector.done.await(1, TimeUnit.MINUTES));
+        assertTrue(collector.error instanceof IllegalArgumentException, String.valueOf(collector.error));
+        assertTrue(collector.lines.isEmpty());
+    }
+
+    @Test
+    public void testPollMissingBuild()
+    {
+        assertThrows(IOException.class,
+            () -> tailer.poll(null, JOB_NAME, 9999, 0, Channels.newChannel(new ByteArrayOutputStream())));
+    }
+
+    // requests lines in batches of the given size, one more batch once the previous one arrived
+    private static final class LineCollector implements Flow.Subscriber<LogLine>
+    {
+        private final long batch;
+        private final List<String> lines = new ArrayList<>();
+        private final List<Long> offsets = new ArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private long pending;
+        private volatile Throwable error;
+
+        private LineCollector(long batch)
+        {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription)
+        {
+            this.subscription = subscription;
+            pending = batch;
+            subscription.request(batch);
+        }
+
+        @Override
+        public void onNext(LogLine line)
+        {
+            lines.add(line.text());
+            offsets.add(line.offset());
+            if (--pending == 0)
+            {
+                pending = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable)
+        {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete()
+        {
+            done.countDown();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.builds.QueueResolver;
+import com.cdancy.jenkins.rest.domain.common.Projection;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "QueueResolverLiveTest", singleThreaded = true)
+public class QueueResolverLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "QueueResolverSleep";
+
+    @BeforeClass
+    public void init()
+    {
+        String config = payloadFromResource("/freestyle-project-sleep-task.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+    }
+
+    @Test
+    public void testProjectedQueue()
+    {
+        Long queueId = api.jobsApi().build(null, JOB_NAME).getEntity();
+        assertNotNull(queueId);
+        ResponseResult<List<QueueItem>> queue = api.queueApi().queue(Projection.of(QueueItem.class).fields("id", "why"));
+        assertTrue(queue.isSuccess(), queue.getError());
+        assertFalse(queue.getEntity().isEmpty());
+        assertTrue(queue.getEntity().stream().allMatch(item -> item.getId() > 0 && item.getTask() == null));
+    }
+
+    @Test
+    public void testResolveFromOneSnapshot()
+    {
+        // the job does not run concurrently, so the second build waits in the queue, unless Jenkins
+        // merged it into the first one which did not leave the queue yet
+        Long first = api.jobsApi().build(null, JOB_NAME).getEntity();
+        Long second = api.jobsApi().build(null, JOB_NAME).getEntity();
+        assertNotNull(first);
+        assertNotNull(second);
+        Set<Long> queueIds = new HashSet<>(List.of(first, second));
+
+        QueueResolver resolver = new QueueResolver(api.queueApi());
+        Map<Long, ResponseResult<QueueItem>> resolved = resolver.resolve(queueIds);
+        assertEquals(resolved.keySet(), queueIds);
+        for (Map.Entry<Long, ResponseResult<QueueItem>> entry : resolved.entrySet())
+        {
+            assertTrue(entry.getValue().isSuccess(), entry.getValue().getError());
+            assertEquals(entry.getValue().getEntity().getId(), entry.getKey().intValue());
+        }
+        assertEquals(resolver.snapshotRequests(), 1);
+        // only the ids that already left the queue cost a request of their own
+        assertTrue(resolver.itemRequests() <= 1);
+    }
+
+    @Test
+    public void testResolveNothing()
+    {
+        QueueResolver resolver = new QueueResolver(api.queueApi());
+        assertTrue(resolver.resolve(List.of()).isEmpty());
+        assertEquals(resolver.snapshotRequests(), 0);
+    }
+}
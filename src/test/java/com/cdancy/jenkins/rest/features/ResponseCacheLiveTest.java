@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.cache.ResponseCacheStats;
+import com.cdancy.jenkins.rest.domain.job.BuildInfo;
+import com.cdancy.jenkins.rest.domain.queue.QueueItem;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import java.io.IOException;
+import java.io.InputStream;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "ResponseCacheLiveTest", singleThreaded = true)
+public class ResponseCacheLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "ResponseCacheArtifact";
+    private static final String ARTIFACT = "artifact.txt";
+
+    private JenkinsApi cachingApi;
+    private int buildNumber;
+
+    @BeforeClass
+    public void init() throws InterruptedException
+    {
+        cachingApi = newCachingApi();
+        String config = payloadFromResource("/pipeline-with-artifact.xml");
+        assertTrue(api.jobsApi().create(null, JOB_NAME, config).isSuccess());
+        QueueItem queueItem = getRunningQueueItem(api.jobsApi().build(null, JOB_NAME).getEntity());
+        assertNotNull(queueItem);
+        assertNotNull(queueItem.getExecutable());
+        BuildInfo buildInfo = getCompletedBuild(JOB_NAME, queueItem);
+        assertEquals(buildInfo.getResult(), "SUCCESS");
+        buildNumber = buildInfo.getNumber();
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        cachingApi.close();
+    }
+
+    @Test
+    public void testNoStatsWithoutCache()
+    {
+        assertTrue(api.responseCacheStats().isEmpty());
+    }
+
+    @Test
+    public void testRevalidatedArtifact()
+    {
+        String first = readArtifactAsString(cachingApi);
+        ResponseCacheStats afterFirst = cachingApi.responseCacheStats().orElseThrow();
+        assertTrue(afterFirst.entries() > 0);
+
+        // Jenkins answers the If-Modified-Since of the second read with a 304
+        String second = readArtifactAsString(cachingApi);
+        ResponseCacheStats afterSecond = cachingApi.responseCacheStats().orElseThrow();
+        assertEquals(second, first);
+        assertEquals(first.trim(), "Hello artifact!");
+        assertEquals(afterSecond.hits(), afterFirst.hits() + 1);
+        assertEquals(afterSecond.misses(), afterFirst.misses());
+        assertTrue(afterSecond.sizeBytes() > 0);
+    }
+
+    @Test
+    public void testStreamedArtifactNotBuffered() throws IOException
+    {
+        try (JenkinsApi streamingApi = newCachingApi())
+        {
+            assertEquals(readArtifactAsStream(streamingApi).trim(), "Hello artifact!");
+            assertEquals(readArtifactAsStream(streamingApi).trim(), "Hello artifact!");
+            ResponseCacheStats stats = streamingApi.responseCacheStats().orElseThrow();
+            assertEquals(stats.entries(), 0);
+            assertEquals(stats.hits(), 0);
+            assertEquals(stats.misses(), 2);
+        }
+    }
+
+    @Test
+    public void testApiJsonNotCached()
+    {
+        try (JenkinsApi jsonApi = newCachingApi())
+        {
+            assertTrue(jsonApi.jobsApi().jobInfo(null, JOB_NAME).isSuccess());
+            assertTrue(jsonApi.jobsApi().jobInfo(null, JOB_NAME).isSuccess());
+            ResponseCacheStats stats = jsonApi.responseCacheStats().orElseThrow();
+            assertEquals(stats.entries(), 0);
+            assertEquals(stats.hits(), 0);
+        }
+    }
+
+    private static JenkinsApi newCachingApi()
+    {
+        return new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .responseCache(1024 * 1024)
+            .build();
+    }
+
+    private String readArtifactAsString(JenkinsApi jenkinsApi)
+    {
+        try (ResponseResult<String> result = ResponseResult.of(jenkinsApi.jobsApi().artifactRaw(JOB_NAME, buildNumber, ARTIFACT), String.class))
+        {
+            assertTrue(result.isSuccess(), result.getError());
+            return result.getEntity();
+        }
+    }
+
+    private String readArtifactAsStream(JenkinsApi jenkinsApi) throws IOException
+    {
+        try (ResponseResult<InputStream> result = jenkinsApi.jobsApi().artifactInFolder(null, JOB_NAME, buildNumber, ARTIFACT))
+        {
+            assertTrue(result.isSuccess(), result.getError());
+            return new String(result.getEntity().readAllBytes(), UTF_8);
+        }
+    }
+}
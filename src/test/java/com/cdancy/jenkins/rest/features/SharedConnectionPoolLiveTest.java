@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.cdancy.jenkins.rest.features;
+
+import static com.cdancy.jenkins.rest.TestUtilities.inferTestAuthentication;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.cdancy.jenkins.rest.BaseJenkinsApiLiveTest;
+import com.cdancy.jenkins.rest.JenkinsApi;
+import com.cdancy.jenkins.rest.domain.system.SystemInfo;
+import com.cdancy.jenkins.rest.parsers.ResponseResult;
+import com.cdancy.jenkins.rest.pool.ConnectionPoolStats;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+@Test(groups = "live", testName = "SharedConnectionPoolLiveTest", singleThreaded = true)
+public class SharedConnectionPoolLiveTest extends BaseJenkinsApiLiveTest
+{
+
+    private static final String JOB_NAME = "SharedPoolJob";
+
+    private JenkinsApi pooledApi;
+
+    @BeforeClass
+    public void init()
+    {
+        assertTrue(api.jobsApi().create(null, JOB_NAME, payloadFromResource("/freestyle-project-no-params.xml")).isSuccess());
+        // a single connection, so a request through any proxy waits for one leased through another
+        pooledApi = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .maxConnectionsTotal(1)
+            .maxConnectionsPerRoute(1)
+            .build();
+    }
+
+    @AfterClass
+    public void cleanup()
+    {
+        api.jobsApi().delete(null, JOB_NAME);
+        pooledApi.close();
+    }
+
+    @Test
+    public void testProxiesReuseOneConnection()
+    {
+        assertTrue(pooledApi.jobsApi().jobInfo(null, JOB_NAME).isSuccess());
+        assertTrue(pooledApi.systemApi().systemInfo().isSuccess());
+        assertTrue(pooledApi.queueApi().queue().isSuccess());
+        assertTrue(pooledApi.statisticsApi().overallLoad().isSuccess());
+
+        ConnectionPoolStats stats = pooledApi.connectionPoolStats().orElseThrow();
+        assertEquals(stats.max(), 1);
+        assertEquals(stats.leased(), 0);
+        assertEquals(stats.idle(), 1);
+    }
+
+    @Test(dependsOnMethods = "testProxiesReuseOneConnection")
+    public void testProxiesWaitForTheSameConnection() throws Exception
+    {
+        CompletableFuture<ResponseResult<SystemInfo>> waiting;
+        try (ResponseResult<InputStream> config = pooledApi.jobsApi().configStream(null, JOB_NAME))
+        {
+            assertTrue(config.isSuccess());
+            assertEquals(pooledApi.connectionPoolStats().orElseThrow().leased(), 1);
+
+            waiting = CompletableFuture.supplyAsync(() -> pooledApi.systemApi().systemInfo());
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (pooledApi.connectionPoolStats().orElseThrow().pending() == 0 && System.nanoTime() < deadline)
+            {
+                Thread.sleep(20);
+            }
+            assertEquals(pooledApi.connectionPoolStats().orElseThrow().pending(), 1);
+            assertFalse(waiting.isDone());
+        }
+        assertTrue(waiting.get(10, TimeUnit.SECONDS).isSuccess());
+        assertEquals(pooledApi.connectionPoolStats().orElseThrow().leased(), 0);
+    }
+
+    @Test
+    public void testCloseReleasesThePool()
+    {
+        JenkinsApi closed = new JenkinsApi.Builder()
+            .credentials(inferTestAuthentication())
+            .endpoint(ENDPOINT)
+            .sharedConnectionPool()
+            .build();
+        assertTrue(closed.systemApi().systemInfo().isSuccess());
+        assertEquals(closed.connectionPoolStats().orElseThrow().idle(), 1);
+
+        closed.close();
+        ConnectionPoolStats stats = closed.connectionPoolStats().orElseThrow();
+        assertEquals(stats.idle(), 0);
+        assertEquals(stats.leased(), 0);
+        boolean failed;
+        try
+        {
+            failed = !closed.systemApi().systemInfo().isSuccess();
+        } catch (RuntimeException e)
+        {
+            failed = true;
+        }
+        assertTrue(failed, "Request succeeded through a closed pool");
+    }
+
+    @Test
+    public void testNoStatsWithoutSharedPool()
+    {
+        assertFalse(api.connectionPoolStats().isPresent());
+    }
+}